@@ -0,0 +1,23 @@
+#!/bin/sh
+# Inicia o backend em produção (Java 21) com ZGC geracional.
+# O heap é fixo em HEAP_PERCENTUAL da memória da máquina/contêiner: sem redimensionamento em tempo de
+# execução e com as páginas já tocadas na subida, as pausas ficam restritas às do ZGC (submilissegundo).
+#   JAR=target/odonto-backend-0.0.1-SNAPSHOT.jar HEAP_PERCENTUAL=75 ./iniciar-producao.sh
+set -e
+
+JAR=${JAR:-target/odonto-backend-0.0.1-SNAPSHOT.jar}
+HEAP_PERCENTUAL=${HEAP_PERCENTUAL:-75}
+LOG_DIR=${LOG_DIR:-logs}
+
+mkdir -p "$LOG_DIR"
+
+exec java \
+    -XX:+UseZGC -XX:+ZGenerational \
+    -XX:InitialRAMPercentage="$HEAP_PERCENTUAL" -XX:MaxRAMPercentage="$HEAP_PERCENTUAL" \
+    -XX:+AlwaysPreTouch \
+    -XX:+ExitOnOutOfMemoryError \
+    -Xlog:gc*:file="$LOG_DIR"/gc.log:time,uptime,level,tags:filecount=5,filesize=20m \
+    $JAVA_OPTS \
+    -jar "$JAR" \
+    --spring.profiles.active="${SPRING_PROFILES_ACTIVE:-prod,virtual-threads}" \
+    "$@"
\ No newline at end of file
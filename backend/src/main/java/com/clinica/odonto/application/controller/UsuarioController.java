@@ -3,6 +3,8 @@ package com.clinica.odonto.application.controller;
 import com.clinica.odonto.application.dto.UsuarioRequest;
 import com.clinica.odonto.application.dto.UsuarioResponse;
 import com.clinica.odonto.application.service.UsuarioService;
+import com.clinica.odonto.infrastructure.security.TokenAutenticacaoCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -26,6 +28,9 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private TokenAutenticacaoCache tokenCache;
+
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<UsuarioResponse> criarUsuario(@Valid @RequestBody UsuarioRequest request) {
@@ -154,4 +159,17 @@ public class UsuarioController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @GetMapping("/cache-tokens")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, Object>> estatisticasCacheTokens() {
+        CacheStats stats = tokenCache.estatisticas();
+        return ResponseEntity.ok(Map.of(
+                "tamanho", tokenCache.tamanhoEstimado(),
+                "acertos", stats.hitCount(),
+                "falhas", stats.missCount(),
+                "taxaAcerto", stats.hitRate(),
+                "despejos", stats.evictionCount()
+        ));
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.clinica.odonto.application.dto;
 
 import com.clinica.odonto.domain.entity.Consulta;
 import com.clinica.odonto.domain.entity.StatusConsulta;
+import com.clinica.odonto.domain.repository.ConsultaProjection;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -42,6 +43,23 @@ public class ConsultaResponse {
         this.dataAtualizacao = consulta.getDataAtualizacao();
     }
 
+    public ConsultaResponse(ConsultaProjection projecao) {
+        this.id = projecao.getId();
+        this.pacienteId = projecao.getPacienteId();
+        this.pacienteNome = projecao.getPacienteNome();
+        this.pacienteCpf = projecao.getPacienteCpf();
+        this.dentistaId = projecao.getDentistaId();
+        this.dentistaNome = projecao.getDentistaNome();
+        this.dentistaCro = projecao.getDentistaCro();
+        this.dataHora = projecao.getDataHora();
+        this.status = projecao.getStatus();
+        this.procedimento = projecao.getProcedimento();
+        this.observacoes = projecao.getObservacoes();
+        this.valor = projecao.getValor();
+        this.dataCriacao = projecao.getDataCriacao();
+        this.dataAtualizacao = projecao.getDataAtualizacao();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
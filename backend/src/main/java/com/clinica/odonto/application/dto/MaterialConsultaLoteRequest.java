@@ -0,0 +1,27 @@
+package com.clinica.odonto.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MaterialConsultaLoteRequest {
+
+    @NotEmpty(message = "Informe ao menos um material")
+    @Size(max = 100, message = "O lote deve ter no máximo 100 materiais")
+    @Valid
+    private List<MaterialConsultaRequest> itens = new ArrayList<>();
+
+    public MaterialConsultaLoteRequest() {}
+
+    // Getters e Setters
+    public List<MaterialConsultaRequest> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<MaterialConsultaRequest> itens) {
+        this.itens = itens;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.clinica.odonto.application.dto;
 
+import com.clinica.odonto.domain.repository.MaterialConsultaProjection;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -35,6 +37,22 @@ public class MaterialConsultaResponse {
         this.dataUso = dataUso;
     }
 
+    public MaterialConsultaResponse(MaterialConsultaProjection projecao) {
+        this.id = projecao.getId();
+        this.materialId = projecao.getMaterialId();
+        this.materialNome = projecao.getMaterialNome();
+        this.materialCodigo = projecao.getMaterialCodigo();
+        this.materialCategoria = projecao.getMaterialCategoria();
+        this.materialUnidadeMedida = projecao.getMaterialUnidadeMedida();
+        this.consultaId = projecao.getConsultaId();
+        this.quantidadeUtilizada = projecao.getQuantidadeUtilizada();
+        this.precoUnitario = projecao.getPrecoUnitario();
+        this.valorTotal = projecao.getValorTotal();
+        this.dataUso = projecao.getDataUtilizacao();
+        this.usuarioLancamentoId = projecao.getUsuarioLancamentoId();
+        this.usuarioLancamentoNome = projecao.getUsuarioLancamentoNome();
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -1,5 +1,7 @@
 package com.clinica.odonto.application.dto;
 
+import com.clinica.odonto.domain.repository.MaterialProjection;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -34,6 +36,22 @@ public class MaterialResponse {
         this.estoqueBaixo = estoqueAtual.compareTo(estoqueMinimo) <= 0;
     }
 
+    public MaterialResponse(MaterialProjection projecao) {
+        this.id = projecao.getId();
+        this.nome = projecao.getNome();
+        this.codigo = projecao.getCodigo();
+        this.categoria = projecao.getCategoria();
+        this.unidadeMedida = projecao.getUnidadeMedida();
+        this.estoqueAtual = projecao.getEstoqueAtual();
+        this.estoqueMinimo = projecao.getEstoqueMinimo();
+        this.precoUnitario = projecao.getPrecoUnitario();
+        this.descricao = projecao.getDescricao();
+        this.ativo = projecao.getAtivo();
+        this.dataCadastro = projecao.getDataCadastro();
+        this.dataAtualizacao = projecao.getDataAtualizacao();
+        this.estoqueBaixo = estoqueAtual.compareTo(estoqueMinimo) <= 0;
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -1,6 +1,7 @@
 package com.clinica.odonto.application.dto;
 
 import com.clinica.odonto.domain.entity.TipoMovimentacao;
+import com.clinica.odonto.domain.repository.MovimentacaoMaterialProjection;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -40,6 +41,23 @@ public class MovimentacaoMaterialResponse {
         this.dataMovimentacao = dataMovimentacao;
     }
 
+    public MovimentacaoMaterialResponse(MovimentacaoMaterialProjection projecao) {
+        this.id = projecao.getId();
+        this.materialId = projecao.getMaterialId();
+        this.materialNome = projecao.getMaterialNome();
+        this.materialCodigo = projecao.getMaterialCodigo();
+        this.tipoMovimentacao = projecao.getTipoMovimentacao();
+        this.tipoMovimentacaoDescricao = tipoMovimentacao.getDescricao();
+        this.quantidade = projecao.getQuantidade();
+        this.estoqueAnterior = projecao.getEstoqueAnterior();
+        this.estoqueAtual = projecao.getEstoqueAtual();
+        this.observacoes = projecao.getObservacoes();
+        this.dataMovimentacao = projecao.getDataMovimentacao();
+        this.usuarioId = projecao.getUsuarioId();
+        this.usuarioNome = projecao.getUsuarioNome();
+        this.consultaId = projecao.getConsultaId();
+    }
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -2,6 +2,7 @@ package com.clinica.odonto.application.dto;
 
 import com.clinica.odonto.domain.entity.Endereco;
 import com.clinica.odonto.domain.entity.Sexo;
+import com.clinica.odonto.domain.repository.PacienteProjection;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,6 +35,24 @@ public class PacienteResponse {
         this.sexo = sexo;
     }
 
+    public PacienteResponse(PacienteProjection projecao) {
+        this.id = projecao.getId();
+        this.nome = projecao.getNome();
+        this.cpf = projecao.getCpf();
+        this.dataNascimento = projecao.getDataNascimento();
+        this.sexo = projecao.getSexo();
+        this.email = projecao.getEmail();
+        this.telefone = projecao.getTelefone();
+        this.celular = projecao.getCelular();
+        this.endereco = projecao.getEndereco();
+        this.observacoes = projecao.getObservacoes();
+        this.ativo = projecao.getAtivo();
+        this.dataCadastro = projecao.getDataCadastro();
+        this.dataAtualizacao = projecao.getDataAtualizacao();
+        this.planoSaudeId = projecao.getPlanoSaudeId();
+        this.planoSaudeNome = projecao.getPlanoSaudeNome();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
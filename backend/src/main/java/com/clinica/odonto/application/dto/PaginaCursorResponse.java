@@ -0,0 +1,43 @@
+package com.clinica.odonto.application.dto;
+
+import java.util.List;
+
+public class PaginaCursorResponse<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+    private boolean possuiMais;
+
+    public PaginaCursorResponse() {}
+
+    public PaginaCursorResponse(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.possuiMais = proximoCursor != null;
+    }
+
+    // Getters and Setters
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    public boolean isPossuiMais() {
+        return possuiMais;
+    }
+
+    public void setPossuiMais(boolean possuiMais) {
+        this.possuiMais = possuiMais;
+    }
+}
\ No newline at end of file
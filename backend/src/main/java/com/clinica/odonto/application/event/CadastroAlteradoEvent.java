@@ -0,0 +1,26 @@
+package com.clinica.odonto.application.event;
+
+import java.time.LocalDateTime;
+
+// Publicado ao criar, ativar, inativar ou excluir pacientes, dentistas e usuários.
+// ativoAnterior nulo indica cadastro novo; ativoAtual nulo indica exclusão. dataCadastro só vem na criação e na exclusão.
+public record CadastroAlteradoEvent(Tipo tipo, Boolean ativoAnterior, Boolean ativoAtual, LocalDateTime dataCadastro) {
+
+    public enum Tipo {
+        PACIENTE,
+        DENTISTA,
+        USUARIO
+    }
+
+    public static CadastroAlteradoEvent criado(Tipo tipo, Boolean ativo, LocalDateTime dataCadastro) {
+        return new CadastroAlteradoEvent(tipo, null, ativo, dataCadastro);
+    }
+
+    public static CadastroAlteradoEvent alterado(Tipo tipo, Boolean ativoAnterior, Boolean ativoAtual) {
+        return new CadastroAlteradoEvent(tipo, ativoAnterior, ativoAtual, null);
+    }
+
+    public static CadastroAlteradoEvent excluido(Tipo tipo, Boolean ativoAnterior, LocalDateTime dataCadastro) {
+        return new CadastroAlteradoEvent(tipo, ativoAnterior, null, dataCadastro);
+    }
+}
\ No newline at end of file
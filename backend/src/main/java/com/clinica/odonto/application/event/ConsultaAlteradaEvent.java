@@ -0,0 +1,22 @@
+package com.clinica.odonto.application.event;
+
+import com.clinica.odonto.domain.entity.Consulta;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Publicado pelo ConsultaService a cada gravação; situação anterior nula indica consulta nova
+public record ConsultaAlteradaEvent(Long consultaId, Situacao anterior, Situacao atual) {
+
+    public ConsultaAlteradaEvent(Consulta consulta, Situacao anterior) {
+        this(consulta.getId(), anterior, Situacao.de(consulta));
+    }
+
+    public record Situacao(Long dentistaId, LocalDateTime dataHora, StatusConsulta status, BigDecimal valor) {
+
+        public static Situacao de(Consulta consulta) {
+            return new Situacao(consulta.getDentista().getId(), consulta.getDataHora(), consulta.getStatus(), consulta.getValor());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.clinica.odonto.application.event;
+
+import com.clinica.odonto.domain.entity.Material;
+import com.clinica.odonto.domain.repository.MaterialProjection;
+
+import java.math.BigDecimal;
+
+// Publicado quando um material entra (estoqueBaixo = true) ou sai do conjunto de materiais ativos com estoque baixo
+public record EstoqueBaixoAlteradoEvent(Long materialId, String nome, String codigo,
+                                        BigDecimal estoqueAtual, BigDecimal estoqueMinimo, boolean estoqueBaixo) {
+
+    public static boolean emAlerta(Boolean ativo, BigDecimal estoqueAtual, BigDecimal estoqueMinimo) {
+        return Boolean.TRUE.equals(ativo) && estoqueAtual.compareTo(estoqueMinimo) <= 0;
+    }
+
+    public static EstoqueBaixoAlteradoEvent de(Material material) {
+        return new EstoqueBaixoAlteradoEvent(material.getId(), material.getNome(), material.getCodigo(),
+                material.getEstoqueAtual(), material.getEstoqueMinimo(),
+                emAlerta(material.getAtivo(), material.getEstoqueAtual(), material.getEstoqueMinimo()));
+    }
+
+    public static EstoqueBaixoAlteradoEvent de(MaterialProjection material) {
+        return new EstoqueBaixoAlteradoEvent(material.getId(), material.getNome(), material.getCodigo(),
+                material.getEstoqueAtual(), material.getEstoqueMinimo(),
+                emAlerta(material.getAtivo(), material.getEstoqueAtual(), material.getEstoqueMinimo()));
+    }
+}
\ No newline at end of file
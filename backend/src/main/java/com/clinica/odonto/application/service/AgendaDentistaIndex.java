@@ -0,0 +1,157 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.application.event.ConsultaAlteradaEvent;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import com.clinica.odonto.domain.repository.ConsultaRepository;
+import com.clinica.odonto.infrastructure.cache.EventosDistribuidos;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+// Horários ocupados por dentista e dia, ordenados pelo início: responde em O(log n) se um horário conflita com
+// uma consulta já conhecida, sem ir ao banco. Alimentado pelas gravações confirmadas desta e das demais
+// instâncias (EventosDistribuidos); um dia ausente é carregado do banco no primeiro acesso (ex.: após reinício).
+// Só as respostas positivas são definitivas: "sem conflito" é sempre confirmado no banco pelo ConsultaService.
+@Component
+public class AgendaDentistaIndex {
+
+    // Duração considerada para cada consulta na verificação de conflitos
+    public static final Duration DURACAO_CONSULTA = Duration.ofHours(1);
+
+    static final String TOPICO = "agenda-dentistas";
+
+    private static final int FAIXAS = 64;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private JanelaTempoClinica janelaTempo;
+
+    @Autowired
+    private EventosDistribuidos eventosDistribuidos;
+
+    private final Map<ChaveAgenda, NavigableSet<Horario>> agendas = new ConcurrentHashMap<>();
+
+    // Alterações recebidas por faixa de chaves: uma carga do banco que cruzou com uma alteração da
+    // sua faixa é descartada do índice, porque a consulta ao banco pode não tê-la enxergado
+    private final AtomicLongArray versoes = new AtomicLongArray(FAIXAS);
+
+    @PostConstruct
+    public void inscreverAlteracoesDasDemaisInstancias() {
+        eventosDistribuidos.inscrever(TOPICO, ConsultaAlteradaEvent.class, this::aplicar, this::invalidarTudo);
+    }
+
+    @TransactionalEventListener
+    public void onConsultaAlterada(ConsultaAlteradaEvent evento) {
+        aplicar(evento);
+        eventosDistribuidos.publicar(TOPICO, evento);
+    }
+
+    public boolean possuiConflito(Long dentistaId, LocalDateTime dataHora, Long consultaIdExcluir) {
+        NavigableSet<Horario> agenda = obterAgenda(dentistaId, dataHora.toLocalDate());
+
+        // Uma consulta existente conflita se começar no intervalo aberto (dataHora - duração, dataHora + duração)
+        NavigableSet<Horario> candidatos = agenda.subSet(
+                new Horario(dataHora.minus(DURACAO_CONSULTA), Long.MAX_VALUE), false,
+                new Horario(dataHora.plus(DURACAO_CONSULTA), Long.MIN_VALUE), false);
+
+        for (Horario horario : candidatos) {
+            if (consultaIdExcluir == null || !horario.consultaId().equals(consultaIdExcluir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Mensagens de outras instâncias possivelmente perdidas: os dias voltam a ser lidos do banco
+    public void invalidarTudo() {
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            versoes.incrementAndGet(faixa);
+        }
+        agendas.clear();
+    }
+
+    private void aplicar(ConsultaAlteradaEvent evento) {
+        ConsultaAlteradaEvent.Situacao anterior = evento.anterior();
+        ConsultaAlteradaEvent.Situacao atual = evento.atual();
+
+        if (anterior != null) {
+            alterar(anterior.dentistaId(), anterior.dataHora(), agenda -> agenda.remove(new Horario(anterior.dataHora(), evento.consultaId())));
+        }
+        if (atual.status() != StatusConsulta.CANCELADA) {
+            alterar(atual.dentistaId(), atual.dataHora(), agenda -> agenda.add(new Horario(atual.dataHora(), evento.consultaId())));
+        }
+    }
+
+    private void alterar(Long dentistaId, LocalDateTime dataHora, Consumer<NavigableSet<Horario>> alteracao) {
+        ChaveAgenda chave = new ChaveAgenda(dentistaId, dataHora.toLocalDate());
+        // A versão sobe antes da alteração: uma carga que ainda não viu esta versão é descartada ou já está no mapa
+        versoes.incrementAndGet(chave.faixa());
+        // Dias ainda não carregados serão lidos do banco no primeiro acesso
+        NavigableSet<Horario> agenda = agendas.get(chave);
+        if (agenda != null) {
+            alteracao.accept(agenda);
+        }
+    }
+
+    private NavigableSet<Horario> obterAgenda(Long dentistaId, LocalDate data) {
+        ChaveAgenda chave = new ChaveAgenda(dentistaId, data);
+        NavigableSet<Horario> agenda = agendas.get(chave);
+        if (agenda != null) {
+            return agenda;
+        }
+
+        descartarDiasPassados();
+
+        // A leitura do banco roda fora de qualquer trava do mapa; duas cargas simultâneas do mesmo dia são iguais
+        long versao = versoes.get(chave.faixa());
+        NavigableSet<Horario> carregada = carregarDoBanco(chave);
+        NavigableSet<Horario> existente = agendas.putIfAbsent(chave, carregada);
+        if (existente != null) {
+            return existente;
+        }
+        if (versoes.get(chave.faixa()) != versao) {
+            agendas.remove(chave, carregada);
+        }
+        return carregada;
+    }
+
+    private NavigableSet<Horario> carregarDoBanco(ChaveAgenda chave) {
+        NavigableSet<Horario> agenda = new ConcurrentSkipListSet<>(Horario.ORDEM);
+        JanelaTempoClinica.Intervalo dia = JanelaTempoClinica.dia(chave.data());
+
+        consultaRepository.findHorariosAtivosPorDentistaEIntervalo(chave.dentistaId(), dia.inicio(), dia.fim())
+                .forEach(horario -> agenda.add(new Horario(horario.getDataHora(), horario.getId())));
+        return agenda;
+    }
+
+    private void descartarDiasPassados() {
+        LocalDate hoje = janelaTempo.hoje();
+        agendas.keySet().removeIf(chave -> chave.data().isBefore(hoje));
+    }
+
+    private record ChaveAgenda(Long dentistaId, LocalDate data) {
+        int faixa() {
+            return Math.floorMod(hashCode(), FAIXAS);
+        }
+    }
+
+    private record Horario(LocalDateTime inicio, Long consultaId) {
+        static final Comparator<Horario> ORDEM = Comparator
+                .comparing(Horario::inicio)
+                .thenComparing(Horario::consultaId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.application.dto.MaterialResponse;
+import com.clinica.odonto.application.event.EstoqueBaixoAlteradoEvent;
+import com.clinica.odonto.domain.repository.MaterialRepository;
+import com.clinica.odonto.infrastructure.cache.EventosDistribuidos;
+import com.clinica.odonto.infrastructure.web.SseBroadcaster;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Envia aos clientes inscritos a lista atual de materiais com estoque baixo e, depois, um alerta
+// a cada material que cruza o estoque mínimo (em qualquer sentido), só após o commit da gravação.
+// Os alertas das demais instâncias chegam por EventosDistribuidos, para os clientes conectados a qualquer nó.
+@Component
+public class AlertasEstoqueBaixo {
+
+    private static final long TIMEOUT_SSE_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    private static final String TOPICO = "estoque-baixo";
+
+    private static final String EVENTO_LISTA = "estoque-baixo";
+
+    private static final String EVENTO_ALERTA = "alerta";
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private EventosDistribuidos eventosDistribuidos;
+
+    private final SseBroadcaster broadcaster;
+
+    public AlertasEstoqueBaixo(TaskExecutor taskExecutor) {
+        this.broadcaster = new SseBroadcaster(taskExecutor, TIMEOUT_SSE_MILLIS);
+    }
+
+    @PostConstruct
+    public void inscreverAlertasDasDemaisInstancias() {
+        eventosDistribuidos.inscrever(TOPICO, EstoqueBaixoAlteradoEvent.class,
+                evento -> broadcaster.enviar(EVENTO_ALERTA, evento), this::reenviarLista);
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter inscrever() {
+        return broadcaster.inscrever(EVENTO_LISTA, this::listarEmAlerta);
+    }
+
+    @TransactionalEventListener
+    public void onEstoqueBaixoAlterado(EstoqueBaixoAlteradoEvent evento) {
+        broadcaster.enviar(EVENTO_ALERTA, evento);
+        eventosDistribuidos.publicar(TOPICO, evento);
+    }
+
+    // Alertas de outras instâncias podem ter se perdido: os clientes recebem de novo a lista completa
+    private void reenviarLista() {
+        if (broadcaster.getQuantidadeInscritos() > 0) {
+            broadcaster.enviar(EVENTO_LISTA, listarEmAlerta());
+        }
+    }
+
+    private List<MaterialResponse> listarEmAlerta() {
+        return materialRepository.findProjetadosComEstoqueBaixo()
+                .stream()
+                .map(MaterialResponse::new)
+                .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
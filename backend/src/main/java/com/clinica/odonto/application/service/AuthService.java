@@ -4,20 +4,24 @@ import com.clinica.odonto.application.dto.LoginRequest;
 import com.clinica.odonto.application.dto.LoginResponse;
 import java.util.List;
 import com.clinica.odonto.application.dto.UsuarioRequest;
+import com.clinica.odonto.application.event.CadastroAlteradoEvent;
 import com.clinica.odonto.domain.entity.Usuario;
 import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.infrastructure.config.MetricasConfig;
 import com.clinica.odonto.infrastructure.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICOS, histogram = true)
 @Transactional
 public class AuthService {
 
@@ -33,6 +37,9 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public LoginResponse login(LoginRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -42,11 +49,9 @@ public class AuthService {
                     )
             );
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(userDetails);
-
-            Usuario usuario = usuarioRepository.findByEmail(loginRequest.getEmail())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            // O principal já é o usuário carregado pelo CustomUserDetailsService
+            Usuario usuario = (Usuario) authentication.getPrincipal();
+            String token = jwtUtil.generateToken(usuario);
 
             return new LoginResponse(
                     token,
@@ -74,7 +79,10 @@ public class AuthService {
         usuario.setTipo(usuarioRequest.getTipo());
         usuario.setAtivo(true);
 
-        return usuarioRepository.save(usuario);
+        usuario = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.criado(
+                CadastroAlteradoEvent.Tipo.USUARIO, usuario.getAtivo(), usuario.getDataCriacao()));
+        return usuario;
     }
 
     public Usuario buscarUsuarioPorEmail(String email) {
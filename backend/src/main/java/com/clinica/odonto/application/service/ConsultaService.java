@@ -2,26 +2,38 @@ package com.clinica.odonto.application.service;
 
 import com.clinica.odonto.application.dto.ConsultaRequest;
 import com.clinica.odonto.application.dto.ConsultaResponse;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
+import com.clinica.odonto.application.event.ConsultaAlteradaEvent;
 import com.clinica.odonto.domain.entity.Consulta;
 import com.clinica.odonto.domain.entity.Dentista;
 import com.clinica.odonto.domain.entity.Paciente;
 import com.clinica.odonto.domain.entity.StatusConsulta;
+import com.clinica.odonto.domain.repository.ConsultaProjection;
 import com.clinica.odonto.domain.repository.ConsultaRepository;
 import com.clinica.odonto.domain.repository.DentistaRepository;
 import com.clinica.odonto.domain.repository.PacienteRepository;
+import com.clinica.odonto.infrastructure.config.MetricasConfig;
+import com.clinica.odonto.infrastructure.web.ExportacaoWriter;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICOS, histogram = true)
 @Transactional
 public class ConsultaService {
 
@@ -34,7 +46,22 @@ public class ConsultaService {
     @Autowired
     private DentistaRepository dentistaRepository;
 
+    @Autowired
+    private AgendaDentistaIndex agendaDentistaIndex;
+
+    @Autowired
+    private JanelaTempoClinica janelaTempo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ExportacaoWriter exportacaoWriter;
+
     public ConsultaResponse criarConsulta(ConsultaRequest request) {
+        // Conflito já conhecido: recusado sem nenhuma leitura e sem disputar a trava da agenda do dentista
+        recusarConflitoConhecido(request.getDentistaId(), request.getDataHora(), null);
+
         // Buscar paciente
         Paciente paciente = pacienteRepository.findById(request.getPacienteId())
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
@@ -43,8 +70,8 @@ public class ConsultaService {
             throw new RuntimeException("Paciente inativo");
         }
 
-        // Buscar dentista
-        Dentista dentista = dentistaRepository.findById(request.getDentistaId())
+        // Buscar dentista, bloqueando sua agenda até o fim da transação
+        Dentista dentista = dentistaRepository.findByIdParaAgendamento(request.getDentistaId())
                 .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
 
         if (!dentista.getAtivo()) {
@@ -67,13 +94,14 @@ public class ConsultaService {
         consulta.setStatus(request.getStatus() != null ? request.getStatus() : StatusConsulta.AGENDADA);
 
         consulta = consultaRepository.save(consulta);
+        eventPublisher.publishEvent(new ConsultaAlteradaEvent(consulta, null));
 
         return new ConsultaResponse(consulta);
     }
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> listarTodas() {
-        return consultaRepository.findAll()
+        return consultaRepository.findAllProjetadas()
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
@@ -81,19 +109,40 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public Page<ConsultaResponse> listarComPaginacao(Pageable pageable) {
-        return consultaRepository.findAll(pageable)
+        return consultaRepository.findAllProjetadas(pageable)
                 .map(ConsultaResponse::new);
     }
 
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<ConsultaResponse> listarPorCursor(String cursor, Integer tamanho) {
+        CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+        Limit limite = CursorPaginacao.limite(tamanho);
+
+        List<ConsultaProjection> registros = posicao == null
+                ? consultaRepository.findProjetadasPrimeiraPagina(limite)
+                : consultaRepository.findProjetadasAposCursor(posicao.data(), posicao.id(), limite);
+        return CursorPaginacao.montarPagina(registros, limite, ConsultaResponse::new,
+                registro -> new CursorPaginacao(registro.getDataHora(), registro.getId()));
+    }
+
+    // Exportação completa em NDJSON ou CSV; a transação fica aberta enquanto o stream é consumido
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida, FormatoExportacao formato) {
+        try (Stream<ConsultaProjection> registros = consultaRepository.streamProjetadasParaExportacao()) {
+            return exportacaoWriter.escrever(registros.map(ConsultaResponse::new), ConsultaResponse.class, formato, saida);
+        }
+    }
+
     @Transactional(readOnly = true)
     public Optional<ConsultaResponse> buscarPorId(Long id) {
-        return consultaRepository.findById(id)
+        return consultaRepository.findDetalhadaById(id)
                 .map(ConsultaResponse::new);
     }
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> buscarPorData(LocalDate data) {
-        return consultaRepository.findByData(data)
+        JanelaTempoClinica.Intervalo dia = JanelaTempoClinica.dia(data);
+        return consultaRepository.findProjetadasByIntervalo(dia.inicio(), dia.fim())
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
@@ -101,7 +150,7 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> buscarPorPaciente(Long pacienteId) {
-        return consultaRepository.findByPacienteId(pacienteId)
+        return consultaRepository.findProjetadasByPacienteId(pacienteId)
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
@@ -109,7 +158,7 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> buscarPorDentista(Long dentistaId) {
-        return consultaRepository.findByDentistaId(dentistaId)
+        return consultaRepository.findProjetadasByDentistaId(dentistaId)
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
@@ -117,7 +166,7 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> buscarPorStatus(StatusConsulta status) {
-        return consultaRepository.findByStatus(status)
+        return consultaRepository.findProjetadasByStatus(status)
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
@@ -125,7 +174,8 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> buscarConsultasHoje() {
-        return consultaRepository.findConsultasHoje()
+        JanelaTempoClinica.Intervalo hoje = janelaTempo.diaAtual();
+        return consultaRepository.findProjetadasByIntervalo(hoje.inicio(), hoje.fim())
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
@@ -133,14 +183,14 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public List<ConsultaResponse> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim) {
-        return consultaRepository.findByPeriodo(inicio, fim)
+        return consultaRepository.findProjetadasByPeriodo(inicio, fim)
                 .stream()
                 .map(ConsultaResponse::new)
                 .collect(Collectors.toList());
     }
 
     public ConsultaResponse atualizarConsulta(Long id, ConsultaRequest request) {
-        Consulta consulta = consultaRepository.findById(id)
+        Consulta consulta = consultaRepository.findDetalhadaById(id)
                 .orElseThrow(() -> new RuntimeException("Consulta não encontrada"));
 
         // Verificar se pode alterar (não pode alterar consultas concluídas ou canceladas)
@@ -148,10 +198,20 @@ public class ConsultaService {
             throw new RuntimeException("Não é possível alterar consultas concluídas ou canceladas");
         }
 
+        Long dentistaIdAnterior = consulta.getDentista().getId();
+        LocalDateTime dataHoraAnterior = consulta.getDataHora();
+        ConsultaAlteradaEvent.Situacao situacaoAnterior = ConsultaAlteradaEvent.Situacao.de(consulta);
+
         // Se mudou o dentista ou horário, verificar conflitos
         if (!consulta.getDentista().getId().equals(request.getDentistaId()) || 
             !consulta.getDataHora().equals(request.getDataHora())) {
-            
+
+            recusarConflitoConhecido(request.getDentistaId(), request.getDataHora(), id);
+
+            // Bloqueia a agenda do dentista de destino antes de verificar o horário
+            dentistaRepository.findByIdParaAgendamento(request.getDentistaId())
+                    .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
+
             if (verificarConflitosHorario(request.getDentistaId(), request.getDataHora(), id)) {
                 throw new RuntimeException("Dentista já possui consulta agendada neste horário");
             }
@@ -191,12 +251,13 @@ public class ConsultaService {
         }
 
         consulta = consultaRepository.save(consulta);
+        eventPublisher.publishEvent(new ConsultaAlteradaEvent(consulta, situacaoAnterior));
 
         return new ConsultaResponse(consulta);
     }
 
     public ConsultaResponse alterarStatus(Long id, StatusConsulta novoStatus) {
-        Consulta consulta = consultaRepository.findById(id)
+        Consulta consulta = consultaRepository.findDetalhadaById(id)
                 .orElseThrow(() -> new RuntimeException("Consulta não encontrada"));
 
         // Validar transições de status
@@ -204,8 +265,10 @@ public class ConsultaService {
             throw new RuntimeException("Transição de status inválida");
         }
 
+        ConsultaAlteradaEvent.Situacao situacaoAnterior = ConsultaAlteradaEvent.Situacao.de(consulta);
         consulta.setStatus(novoStatus);
         consulta = consultaRepository.save(consulta);
+        eventPublisher.publishEvent(new ConsultaAlteradaEvent(consulta, situacaoAnterior));
 
         return new ConsultaResponse(consulta);
     }
@@ -218,45 +281,31 @@ public class ConsultaService {
             throw new RuntimeException("Não é possível cancelar consulta já concluída");
         }
 
+        ConsultaAlteradaEvent.Situacao situacaoAnterior = ConsultaAlteradaEvent.Situacao.de(consulta);
         consulta.setStatus(StatusConsulta.CANCELADA);
         consultaRepository.save(consulta);
+        eventPublisher.publishEvent(new ConsultaAlteradaEvent(consulta, situacaoAnterior));
     }
 
     private boolean verificarConflitosHorario(Long dentistaId, LocalDateTime dataHora) {
         return verificarConflitosHorario(dentistaId, dataHora, null);
     }
 
-    private boolean verificarConflitosHorario(Long dentistaId, LocalDateTime dataHora, Long consultaIdExcluir) {
-        // Buscar consultas do dentista no mesmo dia
-        LocalDate data = dataHora.toLocalDate();
-        List<Consulta> consultasNoDia = consultaRepository.findByDentistaAndPeriodo(
-                dentistaId, data, data);
-
-        // Verificar se há conflito (considerando 1 hora de duração por consulta)
-        LocalDateTime inicioConsulta = dataHora;
-        LocalDateTime fimConsulta = dataHora.plusHours(1);
-
-        for (Consulta consulta : consultasNoDia) {
-            // Pular a própria consulta se estiver editando
-            if (consultaIdExcluir != null && consulta.getId().equals(consultaIdExcluir)) {
-                continue;
-            }
-
-            // Pular consultas canceladas
-            if (consulta.getStatus() == StatusConsulta.CANCELADA) {
-                continue;
-            }
-
-            LocalDateTime inicioExistente = consulta.getDataHora();
-            LocalDateTime fimExistente = consulta.getDataHora().plusHours(1);
-
-            // Verificar sobreposição
-            if (inicioConsulta.isBefore(fimExistente) && fimConsulta.isAfter(inicioExistente)) {
-                return true; // Há conflito
-            }
+    // O índice em memória responde em O(log n) aos conflitos com consultas já conhecidas, sem ir ao banco
+    private void recusarConflitoConhecido(Long dentistaId, LocalDateTime dataHora, Long consultaIdExcluir) {
+        if (agendaDentistaIndex.possuiConflito(dentistaId, dataHora, consultaIdExcluir)) {
+            throw new RuntimeException("Dentista já possui consulta agendada neste horário");
         }
+    }
 
-        return false; // Sem conflito
+    private boolean verificarConflitosHorario(Long dentistaId, LocalDateTime dataHora, Long consultaIdExcluir) {
+        // Confirmação no banco, feita com a agenda do dentista bloqueada (findByIdParaAgendamento): cobre as
+        // gravações que o índice ainda não recebeu, inclusive as de outras instâncias e as que cruzam a meia-noite
+        return consultaRepository.existsConflitoHorario(
+                dentistaId,
+                dataHora.minus(AgendaDentistaIndex.DURACAO_CONSULTA),
+                dataHora.plus(AgendaDentistaIndex.DURACAO_CONSULTA),
+                consultaIdExcluir);
     }
 
     private boolean validarTransicaoStatus(StatusConsulta statusAtual, StatusConsulta novoStatus) {
@@ -0,0 +1,56 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Posição de uma listagem ordenada por (data, id) decrescente. A próxima página começa logo
+// após essa chave, então páginas profundas custam o mesmo que a primeira e não há COUNT(*).
+public record CursorPaginacao(LocalDateTime data, Long id) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String chave = data + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacao decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String chave = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = chave.indexOf(SEPARADOR);
+            return new CursorPaginacao(LocalDateTime.parse(chave.substring(0, separador)), Long.valueOf(chave.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    // Busca um registro a mais que o tamanho pedido só para saber se existe próxima página
+    public static Limit limite(Integer tamanho) {
+        int tamanhoPagina = tamanho == null ? TAMANHO_PADRAO : Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO));
+        return Limit.of(tamanhoPagina + 1);
+    }
+
+    public static <P, R> PaginaCursorResponse<R> montarPagina(List<P> registros, Limit limite,
+                                                              Function<P, R> conversor, Function<P, CursorPaginacao> chave) {
+        int tamanhoPagina = limite.max() - 1;
+        boolean possuiMais = registros.size() > tamanhoPagina;
+        List<P> pagina = possuiMais ? registros.subList(0, tamanhoPagina) : registros;
+
+        String proximoCursor = possuiMais ? chave.apply(pagina.get(pagina.size() - 1)).codificar() : null;
+        return new PaginaCursorResponse<>(pagina.stream().map(conversor).collect(Collectors.toList()), proximoCursor);
+    }
+}
\ No newline at end of file
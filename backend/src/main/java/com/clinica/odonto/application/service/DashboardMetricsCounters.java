@@ -0,0 +1,292 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.application.dto.DashboardMetricsResponse;
+import com.clinica.odonto.application.event.CadastroAlteradoEvent;
+import com.clinica.odonto.application.event.ConsultaAlteradaEvent;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import com.clinica.odonto.domain.repository.ConsultaRepository;
+import com.clinica.odonto.domain.repository.DashboardMetricsProjection;
+import com.clinica.odonto.infrastructure.cache.EventosDistribuidos;
+import com.clinica.odonto.infrastructure.web.SseBroadcaster;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contadores do dashboard mantidos pelos eventos de gravação desta e das demais instâncias (EventosDistribuidos).
+// Garantia: exatos a cada recarga do banco; eventos que chegam durante a recarga são reaplicados sobre o resultado.
+// Um evento confirmado antes da consulta agregada mas entregue depois do início da recarga (janela do afterCommit
+// local ou da latência do canal entre instâncias) é contado duas vezes até a próxima ressincronização periódica.
+@Component
+public class DashboardMetricsCounters {
+
+    private static final long TIMEOUT_SSE_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    private static final String TOPICO_CONSULTAS = "dashboard-consultas";
+    private static final String TOPICO_CADASTROS = "dashboard-cadastros";
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private JanelaTempoClinica janelaTempo;
+
+    @Autowired
+    private EventosDistribuidos eventosDistribuidos;
+
+    @Value("${app.dashboard.ressincronizacao-minutos:15}")
+    private long ressincronizacaoMinutos;
+
+    private final AtomicReference<Contadores> contadores = new AtomicReference<>();
+
+    // Eventos recebidos durante cada recarga em andamento; protegidos pela trava, que também guarda a troca dos contadores
+    private final Set<List<Object>> eventosDuranteCargas = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Object trava = new Object();
+
+    private final SseBroadcaster broadcaster;
+
+    public DashboardMetricsCounters(TaskExecutor taskExecutor) {
+        this.broadcaster = new SseBroadcaster(taskExecutor, TIMEOUT_SSE_MILLIS);
+    }
+
+    public DashboardMetricsResponse obterMetricas() {
+        return contadoresVigentes().paraResponse();
+    }
+
+    public SseEmitter inscrever() {
+        return broadcaster.inscrever("metricas", this::obterMetricas);
+    }
+
+    @PostConstruct
+    public void inscreverEventosDasDemaisInstancias() {
+        eventosDistribuidos.inscrever(TOPICO_CONSULTAS, ConsultaAlteradaEvent.class, this::aplicar, this::ressincronizar);
+        eventosDistribuidos.inscrever(TOPICO_CADASTROS, CadastroAlteradoEvent.class, this::aplicar, this::ressincronizar);
+    }
+
+    @TransactionalEventListener
+    public void onConsultaAlterada(ConsultaAlteradaEvent evento) {
+        aplicar(evento);
+        eventosDistribuidos.publicar(TOPICO_CONSULTAS, evento);
+    }
+
+    @TransactionalEventListener
+    public void onCadastroAlterado(CadastroAlteradoEvent evento) {
+        aplicar(evento);
+        eventosDistribuidos.publicar(TOPICO_CADASTROS, evento);
+    }
+
+    private void aplicar(Object evento) {
+        Contadores atuais;
+        synchronized (trava) {
+            eventosDuranteCargas.forEach(eventos -> eventos.add(evento));
+            atuais = contadores.get();
+        }
+        // Sem contadores carregados, a próxima carga já lê o estado com este evento
+        if (atuais == null) {
+            return;
+        }
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        atuais.contabilizar(evento, delta);
+        publicarDelta(delta);
+    }
+
+    // Eventos de outras instâncias podem ter se perdido no canal: recarrega do banco e envia o retrato completo
+    private void ressincronizar() {
+        recarregar(contadores.get(), janelaTempo.agora());
+    }
+
+    private void publicarDelta(Map<String, Object> delta) {
+        delta.values().removeIf(valor -> valor instanceof Long l ? l == 0L : ((BigDecimal) valor).signum() == 0);
+        if (!delta.isEmpty()) {
+            broadcaster.enviar("delta", delta);
+        }
+    }
+
+    private Contadores contadoresVigentes() {
+        Contadores atuais = contadores.get();
+        LocalDateTime agora = janelaTempo.agora();
+
+        // Troca de dia ou ressincronização periódica: recarrega os contadores com uma única consulta agregada
+        if (atuais == null || !atuais.dia.equals(agora.toLocalDate())
+                || atuais.carregadoEm.plusMinutes(ressincronizacaoMinutos).isBefore(agora)) {
+            return recarregar(atuais, agora);
+        }
+        return atuais;
+    }
+
+    private Contadores recarregar(Contadores atuais, LocalDateTime agora) {
+        List<Object> eventosDuranteCarga = new ArrayList<>();
+        synchronized (trava) {
+            eventosDuranteCargas.add(eventosDuranteCarga);
+        }
+
+        DashboardMetricsProjection projecao;
+        try {
+            projecao = carregarDoBanco(agora);
+        } finally {
+            synchronized (trava) {
+                eventosDuranteCargas.remove(eventosDuranteCarga);
+            }
+        }
+
+        Contadores novos = new Contadores(agora.toLocalDate(), agora, projecao);
+        synchronized (trava) {
+            // Eventos que chegaram durante a consulta agregada e os que chegarem depois da troca vão para os novos
+            // contadores; nada é aplicado só aos antigos enquanto a troca acontece
+            eventosDuranteCarga.forEach(evento -> novos.contabilizar(evento, new LinkedHashMap<>()));
+            if (!contadores.compareAndSet(atuais, novos)) {
+                return contadores.get();
+            }
+        }
+        if (atuais != null) {
+            broadcaster.enviar("metricas", novos.paraResponse());
+        }
+        return novos;
+    }
+
+    private DashboardMetricsProjection carregarDoBanco(LocalDateTime agora) {
+        LocalDate hoje = agora.toLocalDate();
+        JanelaTempoClinica.Intervalo dia = JanelaTempoClinica.dia(hoje);
+        JanelaTempoClinica.Intervalo mes = JanelaTempoClinica.mes(YearMonth.from(hoje));
+
+        return consultaRepository.obterMetricasDashboard(dia.inicio(), dia.fim(), mes.inicio(), mes.fim());
+    }
+
+    // Contadores do dia de referência; LongAdder permite atualizações concorrentes sem bloqueio
+    private static final class Contadores {
+
+        private final LocalDate dia;
+        private final LocalDateTime carregadoEm;
+
+        private final LongAdder totalPacientes = new LongAdder();
+        private final LongAdder pacientesCadastradosNoMes = new LongAdder();
+        private final LongAdder totalDentistas = new LongAdder();
+        private final LongAdder consultasHoje = new LongAdder();
+        private final LongAdder consultasAgendadasHoje = new LongAdder();
+        private final LongAdder consultasConcluidasHoje = new LongAdder();
+        private final LongAdder consultasNoMes = new LongAdder();
+        private final LongAdder faturamentoMensalCentavos = new LongAdder();
+        private final LongAdder totalUsuarios = new LongAdder();
+
+        private Contadores(LocalDate dia, LocalDateTime carregadoEm, DashboardMetricsProjection projecao) {
+            this.dia = dia;
+            this.carregadoEm = carregadoEm;
+            totalPacientes.add(valorOuZero(projecao.getTotalPacientes()));
+            pacientesCadastradosNoMes.add(valorOuZero(projecao.getPacientesCadastradosNoMes()));
+            totalDentistas.add(valorOuZero(projecao.getTotalDentistas()));
+            consultasHoje.add(valorOuZero(projecao.getConsultasHoje()));
+            consultasAgendadasHoje.add(valorOuZero(projecao.getConsultasAgendadasHoje()));
+            consultasConcluidasHoje.add(valorOuZero(projecao.getConsultasConcluidasHoje()));
+            consultasNoMes.add(valorOuZero(projecao.getConsultasNoMes()));
+            faturamentoMensalCentavos.add(emCentavos(projecao.getFaturamentoMensal()));
+            totalUsuarios.add(valorOuZero(projecao.getTotalUsuarios()));
+        }
+
+        private void contabilizar(Object evento, Map<String, Object> delta) {
+            if (evento instanceof ConsultaAlteradaEvent consulta) {
+                contabilizarConsulta(consulta.anterior(), -1, delta);
+                contabilizarConsulta(consulta.atual(), 1, delta);
+            } else if (evento instanceof CadastroAlteradoEvent cadastro) {
+                contabilizarCadastro(cadastro, delta);
+            }
+        }
+
+        private void contabilizarConsulta(ConsultaAlteradaEvent.Situacao situacao, int sinal, Map<String, Object> delta) {
+            if (situacao == null || situacao.dataHora() == null) {
+                return;
+            }
+
+            LocalDate data = situacao.dataHora().toLocalDate();
+            if (data.equals(dia)) {
+                somar(consultasHoje, "consultasHoje", sinal, delta);
+                if (situacao.status() == StatusConsulta.AGENDADA) {
+                    somar(consultasAgendadasHoje, "consultasAgendadasHoje", sinal, delta);
+                } else if (situacao.status() == StatusConsulta.CONCLUIDA) {
+                    somar(consultasConcluidasHoje, "consultasConcluidasHoje", sinal, delta);
+                }
+            }
+
+            if (data.getYear() == dia.getYear() && data.getMonth() == dia.getMonth()) {
+                somar(consultasNoMes, "consultasNoMes", sinal, delta);
+                if (situacao.status() == StatusConsulta.CONCLUIDA && situacao.valor() != null) {
+                    long centavos = sinal * emCentavos(situacao.valor());
+                    faturamentoMensalCentavos.add(centavos);
+                    delta.merge("faturamentoMensal", BigDecimal.valueOf(centavos, 2), (a, b) -> ((BigDecimal) a).add((BigDecimal) b));
+                }
+            }
+        }
+
+        private void contabilizarCadastro(CadastroAlteradoEvent evento, Map<String, Object> delta) {
+            int variacaoAtivos = (Boolean.TRUE.equals(evento.ativoAtual()) ? 1 : 0)
+                    - (Boolean.TRUE.equals(evento.ativoAnterior()) ? 1 : 0);
+
+            switch (evento.tipo()) {
+                case PACIENTE:
+                    somar(totalPacientes, "totalPacientes", variacaoAtivos, delta);
+                    // Pacientes não são excluídos, só inativados: apenas o cadastro novo conta para o mês de referência
+                    if (evento.ativoAnterior() == null && evento.dataCadastro() != null
+                            && evento.dataCadastro().getYear() == dia.getYear()
+                            && evento.dataCadastro().getMonth() == dia.getMonth()) {
+                        somar(pacientesCadastradosNoMes, "pacientesCadastradosNoMes", 1, delta);
+                    }
+                    break;
+                case DENTISTA:
+                    somar(totalDentistas, "totalDentistas", variacaoAtivos, delta);
+                    break;
+                case USUARIO:
+                    somar(totalUsuarios, "totalUsuarios", variacaoAtivos, delta);
+                    break;
+            }
+        }
+
+        private static void somar(LongAdder contador, String campo, long valor, Map<String, Object> delta) {
+            if (valor == 0) {
+                return;
+            }
+            contador.add(valor);
+            delta.merge(campo, valor, (a, b) -> (Long) a + (Long) b);
+        }
+
+        private DashboardMetricsResponse paraResponse() {
+            DashboardMetricsResponse metrics = new DashboardMetricsResponse();
+            metrics.setTotalPacientes(totalPacientes.sum());
+            metrics.setPacientesCadastradosNoMes(pacientesCadastradosNoMes.sum());
+            metrics.setTotalDentistas(totalDentistas.sum());
+            metrics.setConsultasHoje(consultasHoje.sum());
+            metrics.setConsultasAgendadasHoje(consultasAgendadasHoje.sum());
+            metrics.setConsultasConcluidasHoje(consultasConcluidasHoje.sum());
+            metrics.setConsultasNoMes(consultasNoMes.sum());
+            metrics.setFaturamentoMensal(BigDecimal.valueOf(faturamentoMensalCentavos.sum(), 2));
+            metrics.setTotalUsuarios(totalUsuarios.sum());
+            return metrics;
+        }
+
+        private static long valorOuZero(Long valor) {
+            return valor != null ? valor : 0L;
+        }
+
+        private static long emCentavos(BigDecimal valor) {
+            return valor != null ? valor.movePointRight(2).longValue() : 0L;
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.clinica.odonto.application.service;
 import com.clinica.odonto.application.dto.DentistaRequest;
 import com.clinica.odonto.application.dto.DentistaResponse;
 import com.clinica.odonto.application.dto.PlanoSaudeResponse;
+import com.clinica.odonto.application.event.CadastroAlteradoEvent;
 import com.clinica.odonto.domain.entity.Dentista;
 import com.clinica.odonto.domain.entity.PlanoSaude;
 import com.clinica.odonto.domain.entity.TipoUsuario;
@@ -10,7 +11,12 @@ import com.clinica.odonto.domain.entity.Usuario;
 import com.clinica.odonto.domain.repository.DentistaRepository;
 import com.clinica.odonto.domain.repository.PlanoSaudeRepository;
 import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.infrastructure.config.CacheConfig;
+import com.clinica.odonto.infrastructure.security.VersaoTokenRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,6 +43,13 @@ public class DentistaService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private VersaoTokenRegistry versaoTokenRegistry;
+
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public DentistaResponse criar(DentistaRequest request) {
         // Verificar se CRO já existe
         if (dentistaRepository.existsByCro(request.getCro())) {
@@ -73,10 +86,15 @@ public class DentistaService {
         }
 
         dentista = dentistaRepository.save(dentista);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.criado(
+                CadastroAlteradoEvent.Tipo.USUARIO, usuario.getAtivo(), usuario.getDataCriacao()));
+        eventPublisher.publishEvent(CadastroAlteradoEvent.criado(
+                CadastroAlteradoEvent.Tipo.DENTISTA, dentista.getAtivo(), dentista.getDataCadastro()));
 
         return converterParaResponse(dentista);
     }
 
+    @Cacheable(cacheNames = CacheConfig.DENTISTAS, key = "'ativos'")
     @Transactional(readOnly = true)
     public List<DentistaResponse> listarTodos() {
         return dentistaRepository.findAllAtivos()
@@ -119,6 +137,7 @@ public class DentistaService {
                 .map(this::converterParaResponse);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public DentistaResponse atualizar(Long id, DentistaRequest request) {
         Dentista dentista = dentistaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
@@ -139,13 +158,19 @@ public class DentistaService {
             throw new RuntimeException("Email já cadastrado no sistema");
         }
         
+        // Email vai no subject do token: mudança de email ou senha invalida os tokens emitidos
+        boolean revogarTokens = !usuario.getEmail().equals(request.getEmail());
         usuario.setEmail(request.getEmail());
         
         // Atualizar senha apenas se fornecida
         if (request.getSenha() != null && !request.getSenha().trim().isEmpty()) {
             usuario.setSenha(passwordEncoder.encode(request.getSenha()));
+            revogarTokens = true;
         }
         
+        if (revogarTokens) {
+            versaoTokenRegistry.revogar(usuario);
+        }
         usuarioRepository.save(usuario);
 
         // Atualizar dados do dentista
@@ -168,26 +193,37 @@ public class DentistaService {
         return converterParaResponse(dentista);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DENTISTAS, allEntries = true)
     public void ativar(Long id) {
         Dentista dentista = dentistaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
         
+        Boolean dentistaAtivoAnterior = dentista.getAtivo();
+        Boolean usuarioAtivoAnterior = dentista.getUsuario().getAtivo();
         dentista.setAtivo(true);
         dentista.getUsuario().setAtivo(true);
         
         usuarioRepository.save(dentista.getUsuario());
         dentistaRepository.save(dentista);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.DENTISTA, dentistaAtivoAnterior, true));
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.USUARIO, usuarioAtivoAnterior, true));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DENTISTAS, allEntries = true)
     public void inativar(Long id) {
         Dentista dentista = dentistaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Dentista não encontrado"));
         
+        Boolean dentistaAtivoAnterior = dentista.getAtivo();
+        Boolean usuarioAtivoAnterior = dentista.getUsuario().getAtivo();
         dentista.setAtivo(false);
         dentista.getUsuario().setAtivo(false);
+        versaoTokenRegistry.revogar(dentista.getUsuario());
         
         usuarioRepository.save(dentista.getUsuario());
         dentistaRepository.save(dentista);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.DENTISTA, dentistaAtivoAnterior, false));
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.USUARIO, usuarioAtivoAnterior, false));
     }
     
     private DentistaResponse converterParaResponse(Dentista dentista) {
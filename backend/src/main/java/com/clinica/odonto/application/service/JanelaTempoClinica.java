@@ -0,0 +1,53 @@
+package com.clinica.odonto.application.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+// Calcula as janelas de tempo usadas nas consultas ao banco no fuso horário da clínica.
+// Os intervalos são semiabertos [início, fim), para que os filtros comparem a coluna
+// diretamente (sem CAST/EXTRACT) e possam usar os índices de data.
+@Component
+public class JanelaTempoClinica {
+
+    private final Clock relogio;
+
+    public JanelaTempoClinica(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    public LocalDateTime agora() {
+        return LocalDateTime.now(relogio);
+    }
+
+    public LocalDate hoje() {
+        return LocalDate.now(relogio);
+    }
+
+    public Intervalo diaAtual() {
+        return dia(hoje());
+    }
+
+    public Intervalo mesAtual() {
+        return mes(YearMonth.now(relogio));
+    }
+
+    public static Intervalo dia(LocalDate data) {
+        return dias(data, data);
+    }
+
+    // Período de dias completos, com o último dia incluído
+    public static Intervalo dias(LocalDate dataInicio, LocalDate dataFim) {
+        return new Intervalo(dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay());
+    }
+
+    public static Intervalo mes(YearMonth mes) {
+        return new Intervalo(mes.atDay(1).atStartOfDay(), mes.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    public record Intervalo(LocalDateTime inicio, LocalDateTime fim) {
+    }
+}
\ No newline at end of file
@@ -3,24 +3,39 @@ package com.clinica.odonto.application.service;
 import com.clinica.odonto.application.dto.MaterialConsultaRequest;
 import com.clinica.odonto.application.dto.MaterialConsultaResponse;
 import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
 import com.clinica.odonto.domain.entity.*;
 import com.clinica.odonto.domain.repository.ConsultaRepository;
+import com.clinica.odonto.domain.repository.MaterialConsultaProjection;
 import com.clinica.odonto.domain.repository.MaterialConsultaRepository;
+import com.clinica.odonto.domain.repository.MaterialProjection;
 import com.clinica.odonto.domain.repository.MaterialRepository;
 import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.infrastructure.config.MetricasConfig;
+import com.clinica.odonto.infrastructure.web.ExportacaoWriter;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICOS, histogram = true)
 @Transactional
 public class MaterialConsultaService {
 
@@ -39,60 +54,134 @@ public class MaterialConsultaService {
     @Autowired
     private MovimentacaoMaterialService movimentacaoMaterialService;
 
-    public MaterialConsultaResponse registrarMaterialConsulta(MaterialConsultaRequest request, Long usuarioId) {
-        Material material = materialRepository.findById(request.getMaterialId())
-                .orElseThrow(() -> new RuntimeException("Material não encontrado"));
+    @Autowired
+    private JanelaTempoClinica janelaTempo;
+
+    @Autowired
+    private ExportacaoWriter exportacaoWriter;
 
-        Consulta consulta = consultaRepository.findById(request.getConsultaId())
+    public MaterialConsultaResponse registrarMaterialConsulta(MaterialConsultaRequest request, Long usuarioId) {
+        String nomePaciente = consultaRepository.findNomePacienteById(request.getConsultaId())
                 .orElseThrow(() -> new RuntimeException("Consulta não encontrada"));
 
+        // Usuário autenticado, normalmente já no cache de segundo nível
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
-        // Verificar se há estoque suficiente
-        if (material.getEstoqueAtual().compareTo(request.getQuantidadeUtilizada()) < 0) {
-            throw new RuntimeException("Estoque insuficiente. Estoque atual: " + material.getEstoqueAtual());
-        }
+        // Consulta e material entram só como chaves estrangeiras, sem SELECT
+        Consulta consulta = consultaRepository.getReferenceById(request.getConsultaId());
 
-        // Calcular valor total
-        BigDecimal valorTotal = material.getPrecoUnitario().multiply(request.getQuantidadeUtilizada());
+        // Baixa condicional do estoque e registro da movimentação de saída
+        MaterialProjection material = movimentacaoMaterialService.registrarUsoEmConsulta(
+                request.getMaterialId(), request.getQuantidadeUtilizada(), consulta, usuario,
+                "Uso em consulta - Paciente: " + nomePaciente);
 
         // Criar registro de material da consulta
         MaterialConsulta materialConsulta = new MaterialConsulta();
-        materialConsulta.setMaterial(material);
+        materialConsulta.setMaterial(materialRepository.getReferenceById(request.getMaterialId()));
         materialConsulta.setConsulta(consulta);
         materialConsulta.setQuantidadeUtilizada(request.getQuantidadeUtilizada());
         materialConsulta.setPrecoUnitario(material.getPrecoUnitario());
-        materialConsulta.setValorTotal(valorTotal);
+        materialConsulta.setValorTotal(material.getPrecoUnitario().multiply(request.getQuantidadeUtilizada()));
         materialConsulta.setUsuarioLancamento(usuario);
 
         MaterialConsulta materialConsultaSalvo = materialConsultaRepository.save(materialConsulta);
+        return converterParaResponse(materialConsultaSalvo, material);
+    }
 
-        // Registrar movimentação de saída do estoque
-        MovimentacaoMaterialRequest movimentacaoRequest = new MovimentacaoMaterialRequest();
-        movimentacaoRequest.setMaterialId(material.getId());
-        movimentacaoRequest.setTipoMovimentacao(TipoMovimentacao.USO_CONSULTA);
-        movimentacaoRequest.setQuantidade(request.getQuantidadeUtilizada());
-        movimentacaoRequest.setConsultaId(consulta.getId());
-        movimentacaoRequest.setObservacoes("Uso em consulta - Paciente: " + consulta.getPaciente().getNome());
+    // Todos os materiais de uma consulta em uma única transação: ou todos são lançados, ou nenhum
+    public List<MaterialConsultaResponse> registrarMateriaisConsulta(List<MaterialConsultaRequest> itens, Long usuarioId) {
+        Long consultaId = itens.get(0).getConsultaId();
+        if (itens.stream().anyMatch(item -> !consultaId.equals(item.getConsultaId()))) {
+            throw new RuntimeException("Todos os materiais do lote devem ser da mesma consulta");
+        }
 
-        movimentacaoMaterialService.registrarMovimentacao(movimentacaoRequest, usuarioId);
+        String nomePaciente = consultaRepository.findNomePacienteById(consultaId)
+                .orElseThrow(() -> new RuntimeException("Consulta não encontrada"));
+
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+
+        Consulta consulta = consultaRepository.getReferenceById(consultaId);
+
+        // Quantidade total por material: o mesmo material pode aparecer em mais de um item
+        Map<Long, BigDecimal> quantidadesPorMaterial = new LinkedHashMap<>();
+        for (MaterialConsultaRequest item : itens) {
+            quantidadesPorMaterial.merge(item.getMaterialId(), item.getQuantidadeUtilizada(), BigDecimal::add);
+        }
+
+        // Uma única consulta bloqueia e traz todos os materiais; o estoque de todos é validado antes de qualquer baixa
+        Map<Long, Material> materiais = materialRepository.findAllByIdParaAtualizacao(quantidadesPorMaterial.keySet())
+                .stream()
+                .collect(Collectors.toMap(Material::getId, Function.identity()));
+
+        List<String> erros = new ArrayList<>();
+        quantidadesPorMaterial.forEach((materialId, quantidade) -> {
+            Material material = materiais.get(materialId);
+            if (material == null) {
+                erros.add("Material " + materialId + " não encontrado");
+            } else if (material.getEstoqueAtual().compareTo(quantidade) < 0) {
+                erros.add("Estoque insuficiente de " + material.getNome() + ". Estoque atual: " + material.getEstoqueAtual());
+            }
+        });
+        if (!erros.isEmpty()) {
+            throw new RuntimeException(String.join("; ", erros));
+        }
+
+        String observacoes = "Uso em consulta - Paciente: " + nomePaciente;
+        List<MaterialConsulta> registros = new ArrayList<>();
+        for (MaterialConsultaRequest item : itens) {
+            Material material = materiais.get(item.getMaterialId());
+            movimentacaoMaterialService.registrarUsoEmConsulta(material, item.getQuantidadeUtilizada(), consulta, usuario, observacoes);
+
+            MaterialConsulta materialConsulta = new MaterialConsulta();
+            materialConsulta.setMaterial(material);
+            materialConsulta.setConsulta(consulta);
+            materialConsulta.setQuantidadeUtilizada(item.getQuantidadeUtilizada());
+            materialConsulta.setPrecoUnitario(material.getPrecoUnitario());
+            materialConsulta.setValorTotal(material.getPrecoUnitario().multiply(item.getQuantidadeUtilizada()));
+            materialConsulta.setUsuarioLancamento(usuario);
+            registros.add(materialConsulta);
+        }
 
-        return converterParaResponse(materialConsultaSalvo);
+        return materialConsultaRepository.saveAll(registros)
+                .stream()
+                .map(this::converterParaResponse)
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MaterialConsultaResponse> listarTodos() {
-        return materialConsultaRepository.findAll()
+        return materialConsultaRepository.findAllProjetados()
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialConsultaResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<MaterialConsultaResponse> listarComPaginacao(Pageable pageable) {
-        return materialConsultaRepository.findAll(pageable)
-                .map(this::converterParaResponse);
+        return materialConsultaRepository.findAllProjetados(pageable)
+                .map(MaterialConsultaResponse::new);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<MaterialConsultaResponse> listarPorCursor(String cursor, Integer tamanho) {
+        CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+        Limit limite = CursorPaginacao.limite(tamanho);
+
+        List<MaterialConsultaProjection> registros = posicao == null
+                ? materialConsultaRepository.findProjetadosPrimeiraPagina(limite)
+                : materialConsultaRepository.findProjetadosAposCursor(posicao.data(), posicao.id(), limite);
+        return CursorPaginacao.montarPagina(registros, limite, MaterialConsultaResponse::new,
+                registro -> new CursorPaginacao(registro.getDataUtilizacao(), registro.getId()));
+    }
+
+    // Exportação completa em NDJSON ou CSV; a transação fica aberta enquanto o stream é consumido
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida, FormatoExportacao formato) {
+        try (Stream<MaterialConsultaProjection> registros = materialConsultaRepository.streamProjetadosParaExportacao()) {
+            return exportacaoWriter.escrever(registros.map(MaterialConsultaResponse::new), MaterialConsultaResponse.class, formato, saida);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -103,27 +192,28 @@ public class MaterialConsultaService {
 
     @Transactional(readOnly = true)
     public List<MaterialConsultaResponse> buscarPorConsulta(Long consultaId) {
-        return materialConsultaRepository.findByConsultaId(consultaId)
+        return materialConsultaRepository.findProjetadosByConsultaId(consultaId)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialConsultaResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MaterialConsultaResponse> buscarPorMaterial(Long materialId) {
-        Material material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new RuntimeException("Material não encontrado"));
-        return materialConsultaRepository.findByMaterialOrderByDataUtilizacaoDesc(material)
+        if (!materialRepository.existsById(materialId)) {
+            throw new RuntimeException("Material não encontrado");
+        }
+        return materialConsultaRepository.findProjetadosByMaterialId(materialId)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialConsultaResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MaterialConsultaResponse> buscarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
-        return materialConsultaRepository.findByDataUtilizacaoBetweenOrderByDataUtilizacaoDesc(dataInicio, dataFim)
+        return materialConsultaRepository.findProjetadosByDataUtilizacaoBetween(dataInicio, dataFim)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialConsultaResponse::new)
                 .collect(Collectors.toList());
     }
 
@@ -141,13 +231,15 @@ public class MaterialConsultaService {
 
     @Transactional(readOnly = true)
     public BigDecimal calcularValorTotalMesAtual() {
-        return materialConsultaRepository.calcularValorTotalMesAtual()
+        JanelaTempoClinica.Intervalo mes = janelaTempo.mesAtual();
+        return materialConsultaRepository.calcularValorTotalNoIntervalo(mes.inicio(), mes.fim())
                 .orElse(BigDecimal.ZERO);
     }
 
     @Transactional(readOnly = true)
     public Long contarMateriaisUtilizadosMesAtual() {
-        return materialConsultaRepository.countMateriaisUtilizadosMesAtual();
+        JanelaTempoClinica.Intervalo mes = janelaTempo.mesAtual();
+        return materialConsultaRepository.countMateriaisUtilizadosNoIntervalo(mes.inicio(), mes.fim());
     }
 
     public void removerMaterialConsulta(Long id, Long usuarioId) {
@@ -200,6 +292,25 @@ public class MaterialConsultaService {
         return converterParaResponse(materialConsultaAtualizado);
     }
 
+    // Dados do material vindos da projeção, sem inicializar a referência lazy
+    private MaterialConsultaResponse converterParaResponse(MaterialConsulta materialConsulta, MaterialProjection material) {
+        MaterialConsultaResponse response = new MaterialConsultaResponse();
+        response.setId(materialConsulta.getId());
+        response.setMaterialId(material.getId());
+        response.setMaterialNome(material.getNome());
+        response.setMaterialCodigo(material.getCodigo());
+        response.setMaterialCategoria(material.getCategoria());
+        response.setMaterialUnidadeMedida(material.getUnidadeMedida());
+        response.setConsultaId(materialConsulta.getConsulta().getId());
+        response.setQuantidadeUtilizada(materialConsulta.getQuantidadeUtilizada());
+        response.setPrecoUnitario(materialConsulta.getPrecoUnitario());
+        response.setValorTotal(materialConsulta.getValorTotal());
+        response.setDataUso(materialConsulta.getDataUtilizacao());
+        response.setUsuarioLancamentoId(materialConsulta.getUsuarioLancamento().getId());
+        response.setUsuarioLancamentoNome(materialConsulta.getUsuarioLancamento().getNome());
+        return response;
+    }
+
     private MaterialConsultaResponse converterParaResponse(MaterialConsulta materialConsulta) {
         MaterialConsultaResponse response = new MaterialConsultaResponse();
         response.setId(materialConsulta.getId());
@@ -2,13 +2,23 @@ package com.clinica.odonto.application.service;
 
 import com.clinica.odonto.application.dto.MaterialRequest;
 import com.clinica.odonto.application.dto.MaterialResponse;
+import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
+import com.clinica.odonto.application.event.EstoqueBaixoAlteradoEvent;
 import com.clinica.odonto.domain.entity.Material;
+import com.clinica.odonto.domain.entity.TipoMovimentacao;
 import com.clinica.odonto.domain.repository.MaterialRepository;
+import com.clinica.odonto.infrastructure.config.CacheConfig;
+import com.clinica.odonto.infrastructure.config.MetricasConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -16,12 +26,23 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICOS, histogram = true)
 @Transactional
 public class MaterialService {
 
     @Autowired
     private MaterialRepository materialRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AlertasEstoqueBaixo alertasEstoqueBaixo;
+
+    @Autowired
+    private MovimentacaoMaterialService movimentacaoMaterialService;
+
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_MATERIAIS, allEntries = true)
     public MaterialResponse criarMaterial(MaterialRequest request) {
         // Verificar se código já existe
         if (materialRepository.existsByCodigo(request.getCodigo())) {
@@ -39,21 +60,22 @@ public class MaterialService {
         material.setDescricao(request.getDescricao());
 
         Material materialSalvo = materialRepository.save(material);
+        publicarSeMudouEstoqueBaixo(false, materialSalvo);
         return converterParaResponse(materialSalvo);
     }
 
     @Transactional(readOnly = true)
     public List<MaterialResponse> listarTodos() {
-        return materialRepository.findAllAtivos()
+        return materialRepository.findAllAtivosProjetados()
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<MaterialResponse> listarComPaginacao(Pageable pageable) {
-        return materialRepository.findAll(pageable)
-                .map(this::converterParaResponse);
+        return materialRepository.findAllProjetados(pageable)
+                .map(MaterialResponse::new);
     }
 
     @Transactional(readOnly = true)
@@ -64,9 +86,9 @@ public class MaterialService {
 
     @Transactional(readOnly = true)
     public List<MaterialResponse> buscarPorNome(String nome) {
-        return materialRepository.findByNomeContainingIgnoreCaseAndAtivo(nome, true)
+        return materialRepository.findProjetadosByNomeContainingIgnoreCase(nome)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
@@ -78,20 +100,21 @@ public class MaterialService {
 
     @Transactional(readOnly = true)
     public List<MaterialResponse> buscarPorCategoria(String categoria) {
-        return materialRepository.findByCategoriaContainingIgnoreCaseAndAtivo(categoria, true)
+        return materialRepository.findProjetadosByCategoriaContainingIgnoreCase(categoria)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MaterialResponse> buscarMateriaisComEstoqueBaixo() {
-        return materialRepository.findMateriaisComEstoqueBaixo()
+        return materialRepository.findProjetadosComEstoqueBaixo()
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_MATERIAIS, key = "'ativas'")
     @Transactional(readOnly = true)
     public List<String> listarCategorias() {
         return materialRepository.findAllCategorias();
@@ -99,12 +122,13 @@ public class MaterialService {
 
     @Transactional(readOnly = true)
     public List<MaterialResponse> pesquisarMateriais(String termo) {
-        return materialRepository.findByNomeOrCodigoOrCategoriaContaining(termo)
+        return materialRepository.findProjetadosByNomeOrCodigoOrCategoriaContaining(termo)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_MATERIAIS, allEntries = true)
     public MaterialResponse atualizarMaterial(Long id, MaterialRequest request) {
         Material material = materialRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Material não encontrado"));
@@ -115,6 +139,7 @@ public class MaterialService {
             throw new RuntimeException("Código já cadastrado para outro material");
         }
 
+        boolean estoqueBaixoAnterior = emAlerta(material);
         material.setNome(request.getNome());
         material.setCodigo(request.getCodigo());
         material.setCategoria(request.getCategoria());
@@ -125,31 +150,51 @@ public class MaterialService {
         material.setDescricao(request.getDescricao());
 
         Material materialAtualizado = materialRepository.save(material);
+        publicarSeMudouEstoqueBaixo(estoqueBaixoAnterior, materialAtualizado);
         return converterParaResponse(materialAtualizado);
     }
 
-    public void atualizarEstoque(Long materialId, BigDecimal novoEstoque) {
-        Material material = materialRepository.findById(materialId)
+    // Contagem de inventário: a diferença para o saldo informado vira um ajuste registrado nas movimentações.
+    // A linha fica bloqueada enquanto a diferença é calculada: uma baixa simultânea entra antes ou depois do
+    // ajuste, mas nunca é sobrescrita por ele
+    public void atualizarEstoque(Long materialId, BigDecimal novoEstoque, Long usuarioId) {
+        if (novoEstoque.signum() < 0) {
+            throw new RuntimeException("Estoque não pode ser negativo");
+        }
+        Material material = materialRepository.findAllByIdParaAtualizacao(List.of(materialId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Material não encontrado"));
-        
-        material.setEstoqueAtual(novoEstoque);
-        materialRepository.save(material);
+
+        BigDecimal diferenca = novoEstoque.subtract(material.getEstoqueAtual());
+        if (diferenca.signum() == 0) {
+            return;
+        }
+        TipoMovimentacao tipo = diferenca.signum() > 0 ? TipoMovimentacao.AJUSTE_POSITIVO : TipoMovimentacao.AJUSTE_NEGATIVO;
+        MovimentacaoMaterialRequest ajuste = new MovimentacaoMaterialRequest(materialId, tipo, diferenca.abs());
+        ajuste.setObservacoes("Ajuste de inventário para " + novoEstoque.toPlainString());
+        movimentacaoMaterialService.registrarMovimentacao(ajuste, usuarioId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_MATERIAIS, allEntries = true)
     public void inativarMaterial(Long id) {
         Material material = materialRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Material não encontrado"));
         
+        boolean estoqueBaixoAnterior = emAlerta(material);
         material.setAtivo(false);
         materialRepository.save(material);
+        publicarSeMudouEstoqueBaixo(estoqueBaixoAnterior, material);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIAS_MATERIAIS, allEntries = true)
     public void ativarMaterial(Long id) {
         Material material = materialRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Material não encontrado"));
         
+        boolean estoqueBaixoAnterior = emAlerta(material);
         material.setAtivo(true);
         materialRepository.save(material);
+        publicarSeMudouEstoqueBaixo(estoqueBaixoAnterior, material);
     }
 
     @Transactional(readOnly = true)
@@ -157,11 +202,28 @@ public class MaterialService {
         return materialRepository.countByAtivo(true);
     }
 
+    @Transactional(readOnly = true)
+    public SseEmitter inscreverAlertasEstoqueBaixo() {
+        return alertasEstoqueBaixo.inscrever();
+    }
+
     @Transactional(readOnly = true)
     public Long contarMateriaisComEstoqueBaixo() {
         return materialRepository.countMateriaisComEstoqueBaixo();
     }
 
+    private boolean emAlerta(Material material) {
+        return EstoqueBaixoAlteradoEvent.emAlerta(material.getAtivo(), material.getEstoqueAtual(), material.getEstoqueMinimo());
+    }
+
+    // Entrada ou saída do conjunto de estoque baixo (saldo, mínimo ou ativação alterados) vira alerta após o commit
+    private void publicarSeMudouEstoqueBaixo(boolean estoqueBaixoAnterior, Material material) {
+        EstoqueBaixoAlteradoEvent evento = EstoqueBaixoAlteradoEvent.de(material);
+        if (evento.estoqueBaixo() != estoqueBaixoAnterior) {
+            eventPublisher.publishEvent(evento);
+        }
+    }
+
     private MaterialResponse converterParaResponse(Material material) {
         MaterialResponse response = new MaterialResponse();
         response.setId(material.getId());
@@ -2,25 +2,47 @@ package com.clinica.odonto.application.service;
 
 import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
 import com.clinica.odonto.application.dto.MovimentacaoMaterialResponse;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
+import com.clinica.odonto.application.event.EstoqueBaixoAlteradoEvent;
 import com.clinica.odonto.domain.entity.*;
 import com.clinica.odonto.domain.repository.ConsultaRepository;
+import com.clinica.odonto.domain.repository.MaterialProjection;
 import com.clinica.odonto.domain.repository.MaterialRepository;
+import com.clinica.odonto.domain.repository.MovimentacaoMaterialProjection;
 import com.clinica.odonto.domain.repository.MovimentacaoMaterialRepository;
 import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.infrastructure.cache.EntidadeCacheada;
+import com.clinica.odonto.infrastructure.cache.InvalidacaoCacheDistribuida;
+import com.clinica.odonto.infrastructure.config.MetricasConfig;
+import com.clinica.odonto.infrastructure.web.ExportacaoWriter;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICOS, histogram = true)
 @Transactional
 public class MovimentacaoMaterialService {
 
@@ -37,12 +59,21 @@ public class MovimentacaoMaterialService {
     private ConsultaRepository consultaRepository;
 
     @Autowired
-    private MaterialService materialService;
+    private InvalidacaoCacheDistribuida invalidacaoCache;
 
-    public MovimentacaoMaterialResponse registrarMovimentacao(MovimentacaoMaterialRequest request, Long usuarioId) {
-        Material material = materialRepository.findById(request.getMaterialId())
-                .orElseThrow(() -> new RuntimeException("Material não encontrado"));
+    @Autowired
+    private JanelaTempoClinica janelaTempo;
+
+    @Autowired
+    private ExportacaoWriter exportacaoWriter;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public MovimentacaoMaterialResponse registrarMovimentacao(MovimentacaoMaterialRequest request, Long usuarioId) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
@@ -53,45 +84,150 @@ public class MovimentacaoMaterialService {
                     .orElseThrow(() -> new RuntimeException("Consulta não encontrada"));
         }
 
-        BigDecimal estoqueAnterior = material.getEstoqueAtual();
-        BigDecimal novoEstoque = calcularNovoEstoque(estoqueAnterior, request.getQuantidade(), request.getTipoMovimentacao());
+        MaterialProjection material = movimentarEstoque(request.getMaterialId(), request.getQuantidade(), request.getTipoMovimentacao());
+
+        MovimentacaoMaterial movimentacao = novaMovimentacao(material, request.getTipoMovimentacao(), request.getQuantidade());
+        movimentacao.setObservacoes(request.getObservacoes());
+        movimentacao.setUsuario(usuario);
+        movimentacao.setConsulta(consulta);
+
+        MovimentacaoMaterial movimentacaoSalva = movimentacaoRepository.save(movimentacao);
+        return converterParaResponse(movimentacaoSalva, material);
+    }
+
+    // Uso em consulta: baixa do estoque e insert da movimentação. Devolve o material como ficou após o débito.
+    public MaterialProjection registrarUsoEmConsulta(Long materialId, BigDecimal quantidade, Consulta consulta,
+                                                     Usuario usuario, String observacoes) {
+        MaterialProjection material = movimentarEstoque(materialId, quantidade, TipoMovimentacao.USO_CONSULTA);
 
-        // Validar se há estoque suficiente para saídas
-        if (isTipoSaida(request.getTipoMovimentacao()) && novoEstoque.compareTo(BigDecimal.ZERO) < 0) {
+        MovimentacaoMaterial movimentacao = novaMovimentacao(material, TipoMovimentacao.USO_CONSULTA, quantidade);
+        movimentacao.setObservacoes(observacoes);
+        movimentacao.setUsuario(usuario);
+        movimentacao.setConsulta(consulta);
+        movimentacaoRepository.save(movimentacao);
+
+        return material;
+    }
+
+    // Variante do lançamento em lote: o material já está bloqueado (PESSIMISTIC_WRITE) pelo chamador, então o saldo
+    // é ajustado na própria entidade e o UPDATE sai no flush, agrupado em lote com os dos demais materiais
+    public MovimentacaoMaterial registrarUsoEmConsulta(Material material, BigDecimal quantidade, Consulta consulta,
+                                                       Usuario usuario, String observacoes) {
+        BigDecimal estoqueAnterior = material.getEstoqueAtual();
+        if (estoqueAnterior.compareTo(quantidade) < 0) {
             throw new RuntimeException("Estoque insuficiente. Estoque atual: " + estoqueAnterior);
         }
+        material.setEstoqueAtual(estoqueAnterior.subtract(quantidade));
+        publicarSeCruzouEstoqueMinimo(estoqueAnterior, EstoqueBaixoAlteradoEvent.de(material), material.getAtivo());
 
-        // Criar movimentação
         MovimentacaoMaterial movimentacao = new MovimentacaoMaterial();
         movimentacao.setMaterial(material);
-        movimentacao.setTipoMovimentacao(request.getTipoMovimentacao());
-        movimentacao.setQuantidade(request.getQuantidade());
+        movimentacao.setTipoMovimentacao(TipoMovimentacao.USO_CONSULTA);
+        movimentacao.setQuantidade(quantidade);
         movimentacao.setEstoqueAnterior(estoqueAnterior);
-        movimentacao.setEstoqueAtual(novoEstoque);
-        movimentacao.setObservacoes(request.getObservacoes());
+        movimentacao.setEstoqueAtual(material.getEstoqueAtual());
+        movimentacao.setObservacoes(observacoes);
         movimentacao.setUsuario(usuario);
         movimentacao.setConsulta(consulta);
+        return movimentacaoRepository.save(movimentacao);
+    }
 
-        MovimentacaoMaterial movimentacaoSalva = movimentacaoRepository.save(movimentacao);
+    // O saldo muda com um UPDATE atômico no banco, nunca lido e regravado em Java: duas movimentações
+    // simultâneas do mesmo material não se sobrescrevem e uma saída nunca deixa o estoque negativo
+    private MaterialProjection movimentarEstoque(Long materialId, BigDecimal quantidade, TipoMovimentacao tipo) {
+        // O UPDATE nativo não passa pelo contexto de persistência: um material já carregado nesta transação tem
+        // as alterações pendentes enviadas antes e é recarregado depois, senão um flush posterior regravaria o saldo antigo
+        Material gerenciado = materialGerenciado(materialId);
+        if (gerenciado != null) {
+            entityManager.flush();
+        }
+
+        LocalDateTime agora = janelaTempo.agora();
+        int atualizados = isTipoSaida(tipo)
+                ? materialRepository.debitarEstoque(materialId, quantidade, agora)
+                : materialRepository.creditarEstoque(materialId, quantidade, agora);
+
+        if (atualizados == 0) {
+            MaterialProjection material = materialRepository.findProjetadoById(materialId)
+                    .orElseThrow(() -> new RuntimeException("Material não encontrado"));
+            throw new RuntimeException("Estoque insuficiente. Estoque atual: " + material.getEstoqueAtual());
+        }
+        invalidacaoCache.invalidarAposCommit(EntidadeCacheada.MATERIAL, materialId);
+        if (gerenciado != null) {
+            // Sem gravar no cache de segundo nível o saldo ainda não confirmado
+            entityManager.refresh(gerenciado, Map.of(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS));
+        }
+
+        // A linha fica bloqueada pelo UPDATE até o commit: o saldo lido é exatamente o resultante desta movimentação
+        MaterialProjection material = materialRepository.findProjetadoById(materialId)
+                .orElseThrow(() -> new RuntimeException("Material não encontrado"));
+
+        BigDecimal estoqueAnterior = isTipoSaida(tipo)
+                ? material.getEstoqueAtual().add(quantidade)
+                : material.getEstoqueAtual().subtract(quantidade);
+        publicarSeCruzouEstoqueMinimo(estoqueAnterior, EstoqueBaixoAlteradoEvent.de(material), material.getAtivo());
+        return material;
+    }
 
-        // Atualizar estoque do material
-        materialService.atualizarEstoque(material.getId(), novoEstoque);
+    // Só a instância já presente no contexto de persistência; não carrega nem cria proxy
+    private Material materialGerenciado(Long materialId) {
+        SessionImplementor sessao = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = sessao.getFactory().getMappingMetamodel().getEntityDescriptor(Material.class);
+        return (Material) sessao.getPersistenceContextInternal().getEntity(sessao.generateEntityKey(materialId, persister));
+    }
 
-        return converterParaResponse(movimentacaoSalva);
+    // Só as movimentações que cruzam o estoque mínimo geram alerta; o envio acontece após o commit
+    private void publicarSeCruzouEstoqueMinimo(BigDecimal estoqueAnterior, EstoqueBaixoAlteradoEvent atual, Boolean ativo) {
+        if (EstoqueBaixoAlteradoEvent.emAlerta(ativo, estoqueAnterior, atual.estoqueMinimo()) != atual.estoqueBaixo()) {
+            eventPublisher.publishEvent(atual);
+        }
+    }
+
+    private MovimentacaoMaterial novaMovimentacao(MaterialProjection material, TipoMovimentacao tipo, BigDecimal quantidade) {
+        BigDecimal estoqueAtual = material.getEstoqueAtual();
+        BigDecimal estoqueAnterior = isTipoSaida(tipo) ? estoqueAtual.add(quantidade) : estoqueAtual.subtract(quantidade);
+
+        MovimentacaoMaterial movimentacao = new MovimentacaoMaterial();
+        movimentacao.setMaterial(materialRepository.getReferenceById(material.getId()));
+        movimentacao.setTipoMovimentacao(tipo);
+        movimentacao.setQuantidade(quantidade);
+        movimentacao.setEstoqueAnterior(estoqueAnterior);
+        movimentacao.setEstoqueAtual(estoqueAtual);
+        return movimentacao;
     }
 
     @Transactional(readOnly = true)
     public List<MovimentacaoMaterialResponse> listarTodas() {
-        return movimentacaoRepository.findAll()
+        return movimentacaoRepository.findAllProjetadas()
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MovimentacaoMaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<MovimentacaoMaterialResponse> listarComPaginacao(Pageable pageable) {
-        return movimentacaoRepository.findAll(pageable)
-                .map(this::converterParaResponse);
+        return movimentacaoRepository.findAllProjetadas(pageable)
+                .map(MovimentacaoMaterialResponse::new);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<MovimentacaoMaterialResponse> listarPorCursor(String cursor, Integer tamanho) {
+        CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+        Limit limite = CursorPaginacao.limite(tamanho);
+
+        List<MovimentacaoMaterialProjection> registros = posicao == null
+                ? movimentacaoRepository.findProjetadasPrimeiraPagina(limite)
+                : movimentacaoRepository.findProjetadasAposCursor(posicao.data(), posicao.id(), limite);
+        return CursorPaginacao.montarPagina(registros, limite, MovimentacaoMaterialResponse::new,
+                registro -> new CursorPaginacao(registro.getDataMovimentacao(), registro.getId()));
+    }
+
+    // Exportação completa em NDJSON ou CSV; a transação fica aberta enquanto o stream é consumido
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida, FormatoExportacao formato) {
+        try (Stream<MovimentacaoMaterialProjection> registros = movimentacaoRepository.streamProjetadasParaExportacao()) {
+            return exportacaoWriter.escrever(registros.map(MovimentacaoMaterialResponse::new), MovimentacaoMaterialResponse.class, formato, saida);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -102,67 +238,54 @@ public class MovimentacaoMaterialService {
 
     @Transactional(readOnly = true)
     public List<MovimentacaoMaterialResponse> buscarPorMaterial(Long materialId) {
-        Material material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new RuntimeException("Material não encontrado"));
-        return movimentacaoRepository.findByMaterialOrderByDataMovimentacaoDesc(material)
+        if (!materialRepository.existsById(materialId)) {
+            throw new RuntimeException("Material não encontrado");
+        }
+        return movimentacaoRepository.findProjetadasByMaterialId(materialId)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MovimentacaoMaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MovimentacaoMaterialResponse> buscarPorTipoMovimentacao(TipoMovimentacao tipo) {
-        return movimentacaoRepository.findByTipoMovimentacao(tipo)
+        return movimentacaoRepository.findProjetadasByTipoMovimentacao(tipo)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MovimentacaoMaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MovimentacaoMaterialResponse> buscarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
-        return movimentacaoRepository.findByDataMovimentacaoBetweenOrderByDataMovimentacaoDesc(dataInicio, dataFim)
+        return movimentacaoRepository.findProjetadasByDataMovimentacaoBetween(dataInicio, dataFim)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MovimentacaoMaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MovimentacaoMaterialResponse> buscarPorMaterialEPeriodo(Long materialId, LocalDateTime dataInicio, LocalDateTime dataFim) {
-        Material material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new RuntimeException("Material não encontrado"));
-        return movimentacaoRepository.findByMaterialAndDataMovimentacaoBetweenOrderByDataMovimentacaoDesc(material, dataInicio, dataFim)
+        if (!materialRepository.existsById(materialId)) {
+            throw new RuntimeException("Material não encontrado");
+        }
+        return movimentacaoRepository.findProjetadasByMaterialIdAndDataMovimentacaoBetween(materialId, dataInicio, dataFim)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MovimentacaoMaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<MovimentacaoMaterialResponse> buscarPorConsulta(Long consultaId) {
-        return movimentacaoRepository.findByConsultaId(consultaId)
+        return movimentacaoRepository.findProjetadasByConsultaId(consultaId)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(MovimentacaoMaterialResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Long contarMovimentacoesMesAtual() {
-        return movimentacaoRepository.countMovimentacoesMesAtual();
-    }
-
-    private BigDecimal calcularNovoEstoque(BigDecimal estoqueAtual, BigDecimal quantidade, TipoMovimentacao tipo) {
-        switch (tipo) {
-            case ENTRADA:
-            case AJUSTE_POSITIVO:
-                return estoqueAtual.add(quantidade);
-            case SAIDA:
-            case USO_CONSULTA:
-            case PERDA:
-            case VENCIMENTO:
-            case AJUSTE_NEGATIVO:
-                return estoqueAtual.subtract(quantidade);
-            default:
-                throw new RuntimeException("Tipo de movimentação não reconhecido: " + tipo);
-        }
+        JanelaTempoClinica.Intervalo mes = janelaTempo.mesAtual();
+        return movimentacaoRepository.countMovimentacoesNoIntervalo(mes.inicio(), mes.fim());
     }
 
     private boolean isTipoSaida(TipoMovimentacao tipo) {
@@ -173,6 +296,28 @@ public class MovimentacaoMaterialService {
                tipo == TipoMovimentacao.AJUSTE_NEGATIVO;
     }
 
+    // Nome e código do material vindos da projeção, sem inicializar a referência lazy
+    private MovimentacaoMaterialResponse converterParaResponse(MovimentacaoMaterial movimentacao, MaterialProjection material) {
+        MovimentacaoMaterialResponse response = new MovimentacaoMaterialResponse();
+        response.setId(movimentacao.getId());
+        response.setMaterialId(material.getId());
+        response.setMaterialNome(material.getNome());
+        response.setMaterialCodigo(material.getCodigo());
+        response.setTipoMovimentacao(movimentacao.getTipoMovimentacao());
+        response.setTipoMovimentacaoDescricao(movimentacao.getTipoMovimentacao().getDescricao());
+        response.setQuantidade(movimentacao.getQuantidade());
+        response.setEstoqueAnterior(movimentacao.getEstoqueAnterior());
+        response.setEstoqueAtual(movimentacao.getEstoqueAtual());
+        response.setObservacoes(movimentacao.getObservacoes());
+        response.setDataMovimentacao(movimentacao.getDataMovimentacao());
+        response.setUsuarioId(movimentacao.getUsuario().getId());
+        response.setUsuarioNome(movimentacao.getUsuario().getNome());
+        if (movimentacao.getConsulta() != null) {
+            response.setConsultaId(movimentacao.getConsulta().getId());
+        }
+        return response;
+    }
+
     private MovimentacaoMaterialResponse converterParaResponse(MovimentacaoMaterial movimentacao) {
         MovimentacaoMaterialResponse response = new MovimentacaoMaterialResponse();
         response.setId(movimentacao.getId());
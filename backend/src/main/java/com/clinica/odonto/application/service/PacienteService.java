@@ -2,11 +2,17 @@ package com.clinica.odonto.application.service;
 
 import com.clinica.odonto.application.dto.PacienteRequest;
 import com.clinica.odonto.application.dto.PacienteResponse;
+import com.clinica.odonto.application.event.CadastroAlteradoEvent;
 import com.clinica.odonto.domain.entity.Paciente;
 import com.clinica.odonto.domain.entity.PlanoSaude;
 import com.clinica.odonto.domain.repository.PacienteRepository;
 import com.clinica.odonto.domain.repository.PlanoSaudeRepository;
+import com.clinica.odonto.infrastructure.config.CacheConfig;
+import com.clinica.odonto.infrastructure.config.MetricasConfig;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,6 +23,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TIMER_SERVICOS, histogram = true)
 @Transactional
 public class PacienteService {
 
@@ -26,6 +33,11 @@ public class PacienteService {
     @Autowired
     private PlanoSaudeRepository planoSaudeRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // As listagens de planos (inclusive os aceitos por dentista) trazem a quantidade de pacientes do plano
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public PacienteResponse criarPaciente(PacienteRequest request) {
         // Verificar se CPF já existe
         if (pacienteRepository.existsByCpf(request.getCpf())) {
@@ -51,21 +63,23 @@ public class PacienteService {
         }
 
         Paciente pacienteSalvo = pacienteRepository.save(paciente);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.criado(
+                CadastroAlteradoEvent.Tipo.PACIENTE, pacienteSalvo.getAtivo(), pacienteSalvo.getDataCadastro()));
         return converterParaResponse(pacienteSalvo);
     }
 
     @Transactional(readOnly = true)
     public List<PacienteResponse> listarTodos() {
-        return pacienteRepository.findAllAtivos()
+        return pacienteRepository.findAllAtivosProjetados()
                 .stream()
-                .map(this::converterParaResponse)
+                .map(PacienteResponse::new)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<PacienteResponse> listarComPaginacao(Pageable pageable) {
-        return pacienteRepository.findAll(pageable)
-                .map(this::converterParaResponse);
+        return pacienteRepository.findAllProjetados(pageable)
+                .map(PacienteResponse::new);
     }
 
     @Transactional(readOnly = true)
@@ -76,9 +90,9 @@ public class PacienteService {
 
     @Transactional(readOnly = true)
     public List<PacienteResponse> buscarPorNome(String nome) {
-        return pacienteRepository.findByNomeContainingAndAtivo(nome)
+        return pacienteRepository.findProjetadosByNomeContainingAndAtivo(nome)
                 .stream()
-                .map(this::converterParaResponse)
+                .map(PacienteResponse::new)
                 .collect(Collectors.toList());
     }
 
@@ -88,6 +102,7 @@ public class PacienteService {
                 .map(this::converterParaResponse);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public PacienteResponse atualizarPaciente(Long id, PacienteRequest request) {
         Paciente paciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
@@ -125,16 +140,20 @@ public class PacienteService {
         Paciente paciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
         
+        Boolean ativoAnterior = paciente.getAtivo();
         paciente.setAtivo(false);
         pacienteRepository.save(paciente);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.PACIENTE, ativoAnterior, false));
     }
 
     public void ativarPaciente(Long id) {
         Paciente paciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Paciente não encontrado"));
         
+        Boolean ativoAnterior = paciente.getAtivo();
         paciente.setAtivo(true);
         pacienteRepository.save(paciente);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.PACIENTE, ativoAnterior, true));
     }
 
     private PacienteResponse converterParaResponse(Paciente paciente) {
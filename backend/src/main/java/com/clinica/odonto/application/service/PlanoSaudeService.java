@@ -4,7 +4,10 @@ import com.clinica.odonto.application.dto.PlanoSaudeRequest;
 import com.clinica.odonto.application.dto.PlanoSaudeResponse;
 import com.clinica.odonto.domain.entity.PlanoSaude;
 import com.clinica.odonto.domain.repository.PlanoSaudeRepository;
+import com.clinica.odonto.infrastructure.config.CacheConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,7 @@ public class PlanoSaudeService {
     @Autowired
     private PlanoSaudeRepository planoSaudeRepository;
 
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public PlanoSaudeResponse criarPlanoSaude(PlanoSaudeRequest request) {
         // Verificar se código ANS já existe (se fornecido)
         if (request.getCodigoAns() != null && !request.getCodigoAns().trim().isEmpty()) {
@@ -37,6 +41,7 @@ public class PlanoSaudeService {
         return converterParaResponse(planoSalvo);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PLANOS_SAUDE, key = "'ativos'")
     @Transactional(readOnly = true)
     public List<PlanoSaudeResponse> listarTodos() {
         return planoSaudeRepository.findAllAtivos()
@@ -45,6 +50,7 @@ public class PlanoSaudeService {
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.PLANOS_SAUDE, key = "'todos'")
     @Transactional(readOnly = true)
     public List<PlanoSaudeResponse> listarTodosIncluindoInativos() {
         return planoSaudeRepository.findAll()
@@ -75,6 +81,7 @@ public class PlanoSaudeService {
                 .collect(Collectors.toList());
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public PlanoSaudeResponse atualizarPlanoSaude(Long id, PlanoSaudeRequest request) {
         PlanoSaude planoSaude = planoSaudeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Plano de saúde não encontrado"));
@@ -96,6 +103,7 @@ public class PlanoSaudeService {
         return converterParaResponse(planoAtualizado);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public void deletarPlanoSaude(Long id) {
         PlanoSaude planoSaude = planoSaudeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Plano de saúde não encontrado"));
@@ -112,6 +120,7 @@ public class PlanoSaudeService {
         planoSaudeRepository.delete(planoSaude);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.PLANOS_SAUDE, CacheConfig.DENTISTAS}, allEntries = true)
     public PlanoSaudeResponse ativarDesativarPlano(Long id) {
         PlanoSaude planoSaude = planoSaudeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Plano de saúde não encontrado"));
@@ -2,9 +2,14 @@ package com.clinica.odonto.application.service;
 
 import com.clinica.odonto.application.dto.UsuarioRequest;
 import com.clinica.odonto.application.dto.UsuarioResponse;
+import com.clinica.odonto.application.event.CadastroAlteradoEvent;
 import com.clinica.odonto.domain.entity.Usuario;
 import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.infrastructure.config.CacheConfig;
+import com.clinica.odonto.infrastructure.security.VersaoTokenRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +30,12 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private VersaoTokenRegistry versaoTokenRegistry;
+
     public UsuarioResponse criarUsuario(UsuarioRequest request) {
         // Verificar se email já existe
         if (usuarioRepository.existsByEmail(request.getEmail())) {
@@ -39,6 +50,8 @@ public class UsuarioService {
         usuario.setAtivo(true);
 
         usuario = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.criado(
+                CadastroAlteradoEvent.Tipo.USUARIO, usuario.getAtivo(), usuario.getDataCriacao()));
         return new UsuarioResponse(usuario);
     }
 
@@ -86,6 +99,7 @@ public class UsuarioService {
                 .collect(Collectors.toList());
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DENTISTAS, allEntries = true)
     public UsuarioResponse atualizarUsuario(Long id, UsuarioRequest request) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -96,6 +110,9 @@ public class UsuarioService {
             throw new RuntimeException("Email já cadastrado no sistema");
         }
 
+        // Email e tipo vão nas claims do token: mudanças neles invalidam os tokens emitidos
+        boolean revogarTokens = !usuario.getEmail().equals(request.getEmail()) || usuario.getTipo() != request.getTipo();
+
         usuario.setNome(request.getNome());
         usuario.setEmail(request.getEmail());
         usuario.setTipo(request.getTipo());
@@ -103,21 +120,29 @@ public class UsuarioService {
         // Atualizar senha apenas se fornecida
         if (request.getSenha() != null && !request.getSenha().trim().isEmpty()) {
             usuario.setSenha(passwordEncoder.encode(request.getSenha()));
+            revogarTokens = true;
         }
 
+        if (revogarTokens) {
+            versaoTokenRegistry.revogar(usuario);
+        }
         usuario = usuarioRepository.save(usuario);
         return new UsuarioResponse(usuario);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DENTISTAS, allEntries = true)
     public UsuarioResponse ativarUsuario(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
         
+        Boolean ativoAnterior = usuario.getAtivo();
         usuario.setAtivo(true);
         usuario = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.USUARIO, ativoAnterior, true));
         return new UsuarioResponse(usuario);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DENTISTAS, allEntries = true)
     public UsuarioResponse desativarUsuario(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -134,11 +159,15 @@ public class UsuarioService {
             }
         }
         
+        Boolean ativoAnterior = usuario.getAtivo();
         usuario.setAtivo(false);
+        versaoTokenRegistry.revogar(usuario);
         usuario = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(CadastroAlteradoEvent.alterado(CadastroAlteradoEvent.Tipo.USUARIO, ativoAnterior, false));
         return new UsuarioResponse(usuario);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DENTISTAS, allEntries = true)
     public void deletarUsuario(Long id) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -156,6 +185,8 @@ public class UsuarioService {
         }
         
         usuarioRepository.delete(usuario);
+        versaoTokenRegistry.revogarExcluido(usuario.getId());
+        eventPublisher.publishEvent(CadastroAlteradoEvent.excluido(CadastroAlteradoEvent.Tipo.USUARIO, usuario.getAtivo(), usuario.getDataCriacao()));
     }
 
     public UsuarioResponse alterarSenha(Long id, String novaSenha) {
@@ -163,6 +194,7 @@ public class UsuarioService {
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
         
         usuario.setSenha(passwordEncoder.encode(novaSenha));
+        versaoTokenRegistry.revogar(usuario);
         usuario = usuarioRepository.save(usuario);
         return new UsuarioResponse(usuario);
     }
@@ -12,11 +12,24 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "consultas")
+@Table(name = "consultas", indexes = {
+        @Index(name = "idx_consultas_data_hora_id", columnList = "data_hora, id"),
+        @Index(name = "idx_consultas_dentista_data_hora", columnList = "dentista_id, data_hora"),
+        @Index(name = "idx_consultas_paciente_data_hora", columnList = "paciente_id, data_hora"),
+        @Index(name = "idx_consultas_status_data_hora", columnList = "status, data_hora")
+})
+// Paciente, dentista e usuário do dentista: tudo o que o ConsultaResponse lê, em um único SELECT
+@NamedEntityGraph(name = Consulta.GRAFO_DETALHES, attributeNodes = {
+        @NamedAttributeNode("paciente"),
+        @NamedAttributeNode(value = "dentista", subgraph = "dentista")
+}, subgraphs = @NamedSubgraph(name = "dentista", attributeNodes = @NamedAttributeNode("usuario")))
 public class Consulta {
 
+    public static final String GRAFO_DETALHES = "Consulta.detalhes";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consultas_id_seq")
+    @SequenceGenerator(name = "consultas_id_seq", sequenceName = "consultas_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Paciente é obrigatório")
@@ -61,7 +74,7 @@ public class Consulta {
     private List<MovimentacaoMaterial> movimentacoesMaterial = new ArrayList<>();
 
     public Consulta() {
-        this.dataCriacao = LocalDateTime.now();
+        this.dataCriacao = RelogioClinica.agora();
     }
 
     public Consulta(Paciente paciente, Dentista dentista, LocalDateTime dataHora, String procedimento) {
@@ -74,7 +87,7 @@ public class Consulta {
 
     @PreUpdate
     public void preUpdate() {
-        this.dataAtualizacao = LocalDateTime.now();
+        this.dataAtualizacao = RelogioClinica.agora();
     }
 
     // Getters and Setters
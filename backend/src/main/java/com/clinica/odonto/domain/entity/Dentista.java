@@ -3,17 +3,24 @@ package com.clinica.odonto.domain.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "dentistas")
+@Table(name = "dentistas", indexes = {
+        @Index(name = "idx_dentistas_ativo", columnList = "ativo")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dentistas")
 public class Dentista {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dentistas_id_seq")
+    @SequenceGenerator(name = "dentistas_id_seq", sequenceName = "dentistas_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -46,15 +53,17 @@ public class Dentista {
     private List<Consulta> consultas = new ArrayList<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "dentistas-planos-aceitos")
     @JoinTable(
         name = "dentista_plano_saude",
         joinColumns = @JoinColumn(name = "dentista_id"),
-        inverseJoinColumns = @JoinColumn(name = "plano_saude_id")
+        inverseJoinColumns = @JoinColumn(name = "plano_saude_id"),
+        indexes = @Index(name = "idx_dentista_plano_saude_plano", columnList = "plano_saude_id")
     )
     private List<PlanoSaude> planosAceitos = new ArrayList<>();
 
     public Dentista() {
-        this.dataCadastro = LocalDateTime.now();
+        this.dataCadastro = RelogioClinica.agora();
     }
 
     public Dentista(Usuario usuario, String cro, String especialidade) {
@@ -66,7 +75,7 @@ public class Dentista {
 
     @PreUpdate
     public void preUpdate() {
-        this.dataAtualizacao = LocalDateTime.now();
+        this.dataAtualizacao = RelogioClinica.agora();
     }
 
     // Getters and Setters
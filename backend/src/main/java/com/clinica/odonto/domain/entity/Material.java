@@ -5,18 +5,28 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// No PostgreSQL (V6) idx_materiais_estoque_baixo_nome é parcial, (nome) WHERE estoque_baixo AND ativo;
+// o H2 do ambiente de desenvolvimento não tem índices parciais e recebe o equivalente composto
 @Entity
-@Table(name = "materiais")
+@Table(name = "materiais", indexes = {
+        @Index(name = "idx_materiais_ativo_nome", columnList = "ativo, nome"),
+        @Index(name = "idx_materiais_estoque_baixo_nome", columnList = "estoque_baixo, ativo, nome")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "materiais")
 public class Material {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "materiais_id_seq")
+    @SequenceGenerator(name = "materiais_id_seq", sequenceName = "materiais_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -49,6 +59,11 @@ public class Material {
     @Column(name = "estoque_minimo", nullable = false, precision = 10, scale = 2)
     private BigDecimal estoqueMinimo;
 
+    // Mantido a cada gravação (callbacks abaixo e UPDATEs atômicos do repositório) para que a listagem de
+    // estoque baixo use índice em vez de comparar estoque_atual com estoque_minimo em toda a tabela
+    @Column(name = "estoque_baixo", nullable = false)
+    private Boolean estoqueBaixo = false;
+
     @NotNull(message = "Preço unitário é obrigatório")
     @PositiveOrZero(message = "Preço unitário deve ser zero ou positivo")
     @Column(name = "preco_unitario", nullable = false, precision = 10, scale = 2)
@@ -74,7 +89,7 @@ public class Material {
     private List<MaterialConsulta> materiaisConsulta = new ArrayList<>();
 
     public Material() {
-        this.dataCadastro = LocalDateTime.now();
+        this.dataCadastro = RelogioClinica.agora();
     }
 
     public Material(String nome, String codigo, String categoria, String unidadeMedida, 
@@ -89,9 +104,15 @@ public class Material {
         this.precoUnitario = precoUnitario;
     }
 
+    @PrePersist
+    public void prePersist() {
+        this.estoqueBaixo = isEstoqueBaixo();
+    }
+
     @PreUpdate
     public void preUpdate() {
-        this.dataAtualizacao = LocalDateTime.now();
+        this.dataAtualizacao = RelogioClinica.agora();
+        this.estoqueBaixo = isEstoqueBaixo();
     }
 
     // Método para verificar se o estoque está baixo
@@ -156,6 +177,14 @@ public class Material {
         this.estoqueMinimo = estoqueMinimo;
     }
 
+    public Boolean getEstoqueBaixo() {
+        return estoqueBaixo;
+    }
+
+    public void setEstoqueBaixo(Boolean estoqueBaixo) {
+        this.estoqueBaixo = estoqueBaixo;
+    }
+
     public BigDecimal getPrecoUnitario() {
         return precoUnitario;
     }
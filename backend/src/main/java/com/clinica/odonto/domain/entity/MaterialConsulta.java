@@ -8,11 +8,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "material_consulta")
+@Table(name = "material_consulta", indexes = {
+        @Index(name = "idx_material_consulta_data_utilizacao_id", columnList = "data_utilizacao, id"),
+        @Index(name = "idx_material_consulta_material_data", columnList = "material_id, data_utilizacao"),
+        @Index(name = "idx_material_consulta_consulta", columnList = "consulta_id")
+})
 public class MaterialConsulta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "material_consulta_id_seq")
+    @SequenceGenerator(name = "material_consulta_id_seq", sequenceName = "material_consulta_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Material é obrigatório")
@@ -45,7 +50,7 @@ public class MaterialConsulta {
     private Usuario usuarioLancamento;
 
     public MaterialConsulta() {
-        this.dataUtilizacao = LocalDateTime.now();
+        this.dataUtilizacao = RelogioClinica.agora();
     }
 
     public MaterialConsulta(Material material, Consulta consulta, BigDecimal quantidadeUtilizada, 
@@ -9,11 +9,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "movimentacoes_material")
+@Table(name = "movimentacoes_material", indexes = {
+        @Index(name = "idx_movimentacoes_data_id", columnList = "data_movimentacao, id"),
+        @Index(name = "idx_movimentacoes_material_data", columnList = "material_id, data_movimentacao"),
+        @Index(name = "idx_movimentacoes_consulta", columnList = "consulta_id")
+})
 public class MovimentacaoMaterial {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimentacoes_material_id_seq")
+    @SequenceGenerator(name = "movimentacoes_material_id_seq", sequenceName = "movimentacoes_material_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Material é obrigatório")
@@ -54,7 +59,7 @@ public class MovimentacaoMaterial {
     private Consulta consulta;
 
     public MovimentacaoMaterial() {
-        this.dataMovimentacao = LocalDateTime.now();
+        this.dataMovimentacao = RelogioClinica.agora();
     }
 
     public MovimentacaoMaterial(Material material, TipoMovimentacao tipoMovimentacao, 
@@ -12,11 +12,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "pacientes")
+@Table(name = "pacientes", indexes = {
+        @Index(name = "idx_pacientes_data_cadastro", columnList = "data_cadastro"),
+        @Index(name = "idx_pacientes_ativo_nome", columnList = "ativo, nome")
+})
 public class Paciente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pacientes_id_seq")
+    @SequenceGenerator(name = "pacientes_id_seq", sequenceName = "pacientes_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -72,7 +76,7 @@ public class Paciente {
     private PlanoSaude planoSaude;
 
     public Paciente() {
-        this.dataCadastro = LocalDateTime.now();
+        this.dataCadastro = RelogioClinica.agora();
     }
 
     public Paciente(String nome, String cpf, LocalDate dataNascimento, Sexo sexo) {
@@ -85,7 +89,7 @@ public class Paciente {
 
     @PreUpdate
     public void preUpdate() {
-        this.dataAtualizacao = LocalDateTime.now();
+        this.dataAtualizacao = RelogioClinica.agora();
     }
 
     // Getters and Setters
@@ -3,6 +3,8 @@ package com.clinica.odonto.domain.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,10 +12,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "planos_saude")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "planos-saude")
 public class PlanoSaude {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "planos_saude_id_seq")
+    @SequenceGenerator(name = "planos_saude_id_seq", sequenceName = "planos_saude_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome do plano é obrigatório")
@@ -60,13 +65,13 @@ public class PlanoSaude {
     // Métodos de ciclo de vida
     @PrePersist
     protected void onCreate() {
-        dataCriacao = LocalDateTime.now();
-        dataAtualizacao = LocalDateTime.now();
+        dataCriacao = RelogioClinica.agora();
+        dataAtualizacao = RelogioClinica.agora();
     }
 
     @PreUpdate
     protected void onUpdate() {
-        dataAtualizacao = LocalDateTime.now();
+        dataAtualizacao = RelogioClinica.agora();
     }
 
     // Getters e Setters
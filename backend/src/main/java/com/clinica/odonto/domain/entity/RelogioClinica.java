@@ -0,0 +1,26 @@
+package com.clinica.odonto.domain.entity;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+// Relógio no fuso da clínica para os carimbos de data das entidades, que não recebem injeção.
+// É definido na inicialização (RelogioConfig) a partir do mesmo Clock usado nos filtros de data.
+public final class RelogioClinica {
+
+    private static volatile Clock relogio = Clock.systemDefaultZone();
+
+    private RelogioClinica() {
+    }
+
+    public static void definir(Clock novoRelogio) {
+        relogio = novoRelogio;
+    }
+
+    public static Clock relogio() {
+        return relogio;
+    }
+
+    public static LocalDateTime agora() {
+        return LocalDateTime.now(relogio);
+    }
+}
\ No newline at end of file
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,10 +16,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "usuarios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
 public class Usuario implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_id_seq")
+    @SequenceGenerator(name = "usuarios_id_seq", sequenceName = "usuarios_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -42,6 +47,10 @@ public class Usuario implements UserDetails {
     @Column(name = "ativo", nullable = false)
     private Boolean ativo = true;
 
+    // Incrementada a cada alteração de credenciais ou permissões; tokens emitidos com versão anterior deixam de valer
+    @Column(name = "versao_token", nullable = false)
+    private Integer versaoToken = 0;
+
     @Column(name = "data_criacao", nullable = false)
     private LocalDateTime dataCriacao;
 
@@ -49,7 +58,7 @@ public class Usuario implements UserDetails {
     private LocalDateTime dataAtualizacao;
 
     public Usuario() {
-        this.dataCriacao = LocalDateTime.now();
+        this.dataCriacao = RelogioClinica.agora();
     }
 
     public Usuario(String nome, String email, String senha, TipoUsuario tipo) {
@@ -62,7 +71,7 @@ public class Usuario implements UserDetails {
 
     @PreUpdate
     public void preUpdate() {
-        this.dataAtualizacao = LocalDateTime.now();
+        this.dataAtualizacao = RelogioClinica.agora();
     }
 
     // UserDetails implementation
@@ -150,6 +159,14 @@ public class Usuario implements UserDetails {
         this.ativo = ativo;
     }
 
+    public Integer getVersaoToken() {
+        return versaoToken;
+    }
+
+    public void setVersaoToken(Integer versaoToken) {
+        this.versaoToken = versaoToken;
+    }
+
     public LocalDateTime getDataCriacao() {
         return dataCriacao;
     }
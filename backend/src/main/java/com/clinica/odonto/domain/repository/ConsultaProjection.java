@@ -0,0 +1,102 @@
+package com.clinica.odonto.domain.repository;
+
+import com.clinica.odonto.domain.entity.StatusConsulta;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha das listagens montada pelo próprio SELECT new do repositório. Diferente da projeção por interface,
+// não passa por proxy nem por conversão a cada getter.
+public class ConsultaProjection {
+
+    private final Long id;
+    private final Long pacienteId;
+    private final String pacienteNome;
+    private final String pacienteCpf;
+    private final Long dentistaId;
+    private final String dentistaNome;
+    private final String dentistaCro;
+    private final LocalDateTime dataHora;
+    private final StatusConsulta status;
+    private final String procedimento;
+    private final String observacoes;
+    private final BigDecimal valor;
+    private final LocalDateTime dataCriacao;
+    private final LocalDateTime dataAtualizacao;
+
+    public ConsultaProjection(Long id, Long pacienteId, String pacienteNome, String pacienteCpf, Long dentistaId,
+                              String dentistaNome, String dentistaCro, LocalDateTime dataHora,
+                              StatusConsulta status, String procedimento, String observacoes, BigDecimal valor,
+                              LocalDateTime dataCriacao, LocalDateTime dataAtualizacao) {
+        this.id = id;
+        this.pacienteId = pacienteId;
+        this.pacienteNome = pacienteNome;
+        this.pacienteCpf = pacienteCpf;
+        this.dentistaId = dentistaId;
+        this.dentistaNome = dentistaNome;
+        this.dentistaCro = dentistaCro;
+        this.dataHora = dataHora;
+        this.status = status;
+        this.procedimento = procedimento;
+        this.observacoes = observacoes;
+        this.valor = valor;
+        this.dataCriacao = dataCriacao;
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPacienteId() {
+        return pacienteId;
+    }
+
+    public String getPacienteNome() {
+        return pacienteNome;
+    }
+
+    public String getPacienteCpf() {
+        return pacienteCpf;
+    }
+
+    public Long getDentistaId() {
+        return dentistaId;
+    }
+
+    public String getDentistaNome() {
+        return dentistaNome;
+    }
+
+    public String getDentistaCro() {
+        return dentistaCro;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public StatusConsulta getStatus() {
+        return status;
+    }
+
+    public String getProcedimento() {
+        return procedimento;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+}
\ No newline at end of file
@@ -2,52 +2,101 @@ package com.clinica.odonto.domain.repository;
 
 import com.clinica.odonto.domain.entity.Consulta;
 import com.clinica.odonto.domain.entity.StatusConsulta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
 
-    @Query("SELECT c FROM Consulta c WHERE CAST(c.dataHora AS date) = :data ORDER BY c.dataHora")
-    List<Consulta> findByData(@Param("data") LocalDate data);
+    // Listagens leem só as colunas do ConsultaResponse, sem entidades gerenciadas no contexto de persistência
+    String PROJECAO = "SELECT new com.clinica.odonto.domain.repository.ConsultaProjection("
+            + "c.id, p.id, p.nome, p.cpf, d.id, u.nome, d.cro, c.dataHora, c.status, c.procedimento, "
+            + "c.observacoes, c.valor, c.dataCriacao, c.dataAtualizacao) "
+            + "FROM Consulta c JOIN c.paciente p JOIN c.dentista d JOIN d.usuario u ";
 
-    @Query("SELECT c FROM Consulta c WHERE c.paciente.id = :pacienteId ORDER BY c.dataHora DESC")
-    List<Consulta> findByPacienteId(@Param("pacienteId") Long pacienteId);
+    @Query(PROJECAO)
+    List<ConsultaProjection> findAllProjetadas();
 
-    @Query("SELECT c FROM Consulta c WHERE c.dentista.id = :dentistaId ORDER BY c.dataHora DESC")
-    List<Consulta> findByDentistaId(@Param("dentistaId") Long dentistaId);
+    @Query(value = PROJECAO, countQuery = "SELECT COUNT(c) FROM Consulta c")
+    Page<ConsultaProjection> findAllProjetadas(Pageable pageable);
 
-    @Query("SELECT c FROM Consulta c WHERE c.status = :status ORDER BY c.dataHora")
-    List<Consulta> findByStatus(@Param("status") StatusConsulta status);
+    @Query(PROJECAO + "WHERE c.dataHora >= :inicio AND c.dataHora < :fim ORDER BY c.dataHora")
+    List<ConsultaProjection> findProjetadasByIntervalo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
-    @Query("SELECT c FROM Consulta c WHERE CAST(c.dataHora AS date) = CURRENT_DATE() ORDER BY c.dataHora")
-    List<Consulta> findConsultasHoje();
+    @Query(PROJECAO + "WHERE p.id = :pacienteId ORDER BY c.dataHora DESC")
+    List<ConsultaProjection> findProjetadasByPacienteId(@Param("pacienteId") Long pacienteId);
 
-    @Query("SELECT c FROM Consulta c WHERE CAST(c.dataHora AS date) = CURRENT_DATE() AND c.status = :status ORDER BY c.dataHora")
-    List<Consulta> findConsultasHojePorStatus(@Param("status") StatusConsulta status);
+    @Query(PROJECAO + "WHERE d.id = :dentistaId ORDER BY c.dataHora DESC")
+    List<ConsultaProjection> findProjetadasByDentistaId(@Param("dentistaId") Long dentistaId);
 
-    @Query("SELECT COUNT(c) FROM Consulta c WHERE CAST(c.dataHora AS date) = CURRENT_DATE()")
-    Long countConsultasHoje();
+    @Query(PROJECAO + "WHERE c.status = :status ORDER BY c.dataHora")
+    List<ConsultaProjection> findProjetadasByStatus(@Param("status") StatusConsulta status);
 
-    @Query("SELECT COUNT(c) FROM Consulta c WHERE CAST(c.dataHora AS date) = CURRENT_DATE() AND c.status = :status")
-    Long countConsultasHojePorStatus(@Param("status") StatusConsulta status);
+    @Query(PROJECAO + "WHERE c.dataHora BETWEEN :inicio AND :fim ORDER BY c.dataHora")
+    List<ConsultaProjection> findProjetadasByPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
-    @Query("SELECT COUNT(c) FROM Consulta c WHERE EXTRACT(MONTH FROM c.dataHora) = EXTRACT(MONTH FROM CURRENT_DATE()) AND EXTRACT(YEAR FROM c.dataHora) = EXTRACT(YEAR FROM CURRENT_DATE())")
-    Long countConsultasNoMes();
+    // Paginação por cursor em (dataHora, id) decrescente; sem OFFSET e sem consulta de contagem
+    @Query(PROJECAO + "ORDER BY c.dataHora DESC, c.id DESC")
+    List<ConsultaProjection> findProjetadasPrimeiraPagina(Limit limite);
 
-    @Query("SELECT SUM(c.valor) FROM Consulta c WHERE EXTRACT(MONTH FROM c.dataHora) = EXTRACT(MONTH FROM CURRENT_DATE()) AND EXTRACT(YEAR FROM c.dataHora) = EXTRACT(YEAR FROM CURRENT_DATE()) AND c.status = 'CONCLUIDA'")
-    BigDecimal somaFaturamentoMensal();
+    @Query(PROJECAO + "WHERE c.dataHora <= :dataHora AND (c.dataHora < :dataHora OR c.id < :id) "
+            + "ORDER BY c.dataHora DESC, c.id DESC")
+    List<ConsultaProjection> findProjetadasAposCursor(@Param("dataHora") LocalDateTime dataHora, @Param("id") Long id, Limit limite);
 
-    @Query("SELECT c FROM Consulta c WHERE c.dataHora BETWEEN :inicio AND :fim ORDER BY c.dataHora")
-    List<Consulta> findByPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+    // Exportação: percorre o resultado com cursor do JDBC em lotes, sem carregar a lista inteira
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PROJECAO + "ORDER BY c.dataHora, c.id")
+    Stream<ConsultaProjection> streamProjetadasParaExportacao();
 
-    @Query("SELECT c FROM Consulta c WHERE c.dentista.id = :dentistaId AND CAST(c.dataHora AS date) BETWEEN :dataInicio AND :dataFim ORDER BY c.dataHora")
-    List<Consulta> findByDentistaAndPeriodo(@Param("dentistaId") Long dentistaId, @Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+    // Consulta com paciente, dentista e usuário do dentista em uma única leitura, para detalhe e alterações
+    @EntityGraph(Consulta.GRAFO_DETALHES)
+    @Query("SELECT c FROM Consulta c WHERE c.id = :id")
+    Optional<Consulta> findDetalhadaById(@Param("id") Long id);
+
+    // Existência da consulta e nome do paciente em uma única leitura, sem carregar as entidades
+    @Query("SELECT p.nome FROM Consulta c JOIN c.paciente p WHERE c.id = :id")
+    Optional<String> findNomePacienteById(@Param("id") Long id);
+
+    @Query("SELECT new com.clinica.odonto.domain.repository.HorarioConsultaProjection(c.id, c.dataHora) FROM Consulta c "
+            + "WHERE c.dentista.id = :dentistaId AND c.dataHora >= :inicio AND c.dataHora < :fim AND c.status <> 'CANCELADA'")
+    List<HorarioConsultaProjection> findHorariosAtivosPorDentistaEIntervalo(@Param("dentistaId") Long dentistaId, @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT COUNT(c) > 0 FROM Consulta c WHERE c.dentista.id = :dentistaId AND c.dataHora > :inicio AND c.dataHora < :fim AND c.status <> 'CANCELADA' AND (:consultaIdExcluir IS NULL OR c.id <> :consultaIdExcluir)")
+    boolean existsConflitoHorario(@Param("dentistaId") Long dentistaId, @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim, @Param("consultaIdExcluir") Long consultaIdExcluir);
+
+    // Todas as métricas do dashboard em uma única ida ao banco; os intervalos [início, fim) são
+    // calculados pelo chamador para que os filtros de data possam usar índices
+    @Query(value = "SELECT "
+            + "(SELECT COUNT(*) FROM pacientes p WHERE p.ativo = TRUE) AS totalPacientes, "
+            + "(SELECT COUNT(*) FROM pacientes p WHERE p.data_cadastro >= :inicioMes AND p.data_cadastro < :fimMes) AS pacientesCadastradosNoMes, "
+            + "(SELECT COUNT(*) FROM dentistas d WHERE d.ativo = TRUE) AS totalDentistas, "
+            + "(SELECT COUNT(*) FROM usuarios u WHERE u.ativo = TRUE) AS totalUsuarios, "
+            + "c.consultasHoje, c.consultasAgendadasHoje, c.consultasConcluidasHoje, c.consultasNoMes, c.faturamentoMensal "
+            + "FROM (SELECT "
+            + "COALESCE(SUM(CASE WHEN con.data_hora >= :inicioDia AND con.data_hora < :fimDia THEN 1 ELSE 0 END), 0) AS consultasHoje, "
+            + "COALESCE(SUM(CASE WHEN con.data_hora >= :inicioDia AND con.data_hora < :fimDia AND con.status = 'AGENDADA' THEN 1 ELSE 0 END), 0) AS consultasAgendadasHoje, "
+            + "COALESCE(SUM(CASE WHEN con.data_hora >= :inicioDia AND con.data_hora < :fimDia AND con.status = 'CONCLUIDA' THEN 1 ELSE 0 END), 0) AS consultasConcluidasHoje, "
+            + "COUNT(*) AS consultasNoMes, "
+            + "COALESCE(SUM(CASE WHEN con.status = 'CONCLUIDA' THEN con.valor ELSE 0 END), 0) AS faturamentoMensal "
+            + "FROM consultas con WHERE con.data_hora >= :inicioMes AND con.data_hora < :fimMes) c",
+            nativeQuery = true)
+    DashboardMetricsProjection obterMetricasDashboard(@Param("inicioDia") LocalDateTime inicioDia, @Param("fimDia") LocalDateTime fimDia,
+                                                      @Param("inicioMes") LocalDateTime inicioMes, @Param("fimMes") LocalDateTime fimMes);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.clinica.odonto.domain.repository;
+
+import java.math.BigDecimal;
+
+public interface DashboardMetricsProjection {
+
+    Long getTotalPacientes();
+
+    Long getPacientesCadastradosNoMes();
+
+    Long getTotalDentistas();
+
+    Long getConsultasHoje();
+
+    Long getConsultasAgendadasHoje();
+
+    Long getConsultasConcluidasHoje();
+
+    Long getConsultasNoMes();
+
+    BigDecimal getFaturamentoMensal();
+
+    Long getTotalUsuarios();
+}
\ No newline at end of file
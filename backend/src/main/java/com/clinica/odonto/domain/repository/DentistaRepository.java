@@ -1,8 +1,13 @@
 package com.clinica.odonto.domain.repository;
 
 import com.clinica.odonto.domain.entity.Dentista;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +21,7 @@ public interface DentistaRepository extends JpaRepository<Dentista, Long> {
 
     boolean existsByCro(String cro);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT d FROM Dentista d WHERE d.ativo = true ORDER BY d.usuario.nome")
     List<Dentista> findAllAtivos();
 
@@ -25,9 +31,11 @@ public interface DentistaRepository extends JpaRepository<Dentista, Long> {
     @Query("SELECT d FROM Dentista d WHERE d.especialidade LIKE %:especialidade% AND d.ativo = true ORDER BY d.usuario.nome")
     List<Dentista> findByEspecialidadeContainingAndAtivo(@Param("especialidade") String especialidade);
 
-    @Query("SELECT COUNT(d) FROM Dentista d WHERE d.ativo = true")
-    Long countDentistasAtivos();
-
     @Query("SELECT d FROM Dentista d WHERE d.usuario.id = :usuarioId")
     Optional<Dentista> findByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    // Bloqueia a linha do dentista até o fim da transação, serializando os agendamentos da sua agenda
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Dentista d WHERE d.id = :id")
+    Optional<Dentista> findByIdParaAgendamento(@Param("id") Long id);
 }
\ No newline at end of file
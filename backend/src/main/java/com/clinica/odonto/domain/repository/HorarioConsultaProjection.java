@@ -0,0 +1,23 @@
+package com.clinica.odonto.domain.repository;
+
+import java.time.LocalDateTime;
+
+// Só o necessário para a agenda em memória dos dentistas (AgendaDentistaIndex)
+public class HorarioConsultaProjection {
+
+    private final Long id;
+    private final LocalDateTime dataHora;
+
+    public HorarioConsultaProjection(Long id, LocalDateTime dataHora) {
+        this.id = id;
+        this.dataHora = dataHora;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+}
\ No newline at end of file
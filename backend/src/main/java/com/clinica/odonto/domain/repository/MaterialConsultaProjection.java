@@ -0,0 +1,95 @@
+package com.clinica.odonto.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha das listagens montada pelo próprio SELECT new do repositório. Diferente da projeção por interface,
+// não passa por proxy nem por conversão a cada getter.
+public class MaterialConsultaProjection {
+
+    private final Long id;
+    private final Long materialId;
+    private final String materialNome;
+    private final String materialCodigo;
+    private final String materialCategoria;
+    private final String materialUnidadeMedida;
+    private final Long consultaId;
+    private final BigDecimal quantidadeUtilizada;
+    private final BigDecimal precoUnitario;
+    private final BigDecimal valorTotal;
+    private final LocalDateTime dataUtilizacao;
+    private final Long usuarioLancamentoId;
+    private final String usuarioLancamentoNome;
+
+    public MaterialConsultaProjection(Long id, Long materialId, String materialNome, String materialCodigo,
+                                      String materialCategoria, String materialUnidadeMedida, Long consultaId,
+                                      BigDecimal quantidadeUtilizada, BigDecimal precoUnitario,
+                                      BigDecimal valorTotal, LocalDateTime dataUtilizacao,
+                                      Long usuarioLancamentoId, String usuarioLancamentoNome) {
+        this.id = id;
+        this.materialId = materialId;
+        this.materialNome = materialNome;
+        this.materialCodigo = materialCodigo;
+        this.materialCategoria = materialCategoria;
+        this.materialUnidadeMedida = materialUnidadeMedida;
+        this.consultaId = consultaId;
+        this.quantidadeUtilizada = quantidadeUtilizada;
+        this.precoUnitario = precoUnitario;
+        this.valorTotal = valorTotal;
+        this.dataUtilizacao = dataUtilizacao;
+        this.usuarioLancamentoId = usuarioLancamentoId;
+        this.usuarioLancamentoNome = usuarioLancamentoNome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMaterialId() {
+        return materialId;
+    }
+
+    public String getMaterialNome() {
+        return materialNome;
+    }
+
+    public String getMaterialCodigo() {
+        return materialCodigo;
+    }
+
+    public String getMaterialCategoria() {
+        return materialCategoria;
+    }
+
+    public String getMaterialUnidadeMedida() {
+        return materialUnidadeMedida;
+    }
+
+    public Long getConsultaId() {
+        return consultaId;
+    }
+
+    public BigDecimal getQuantidadeUtilizada() {
+        return quantidadeUtilizada;
+    }
+
+    public BigDecimal getPrecoUnitario() {
+        return precoUnitario;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public LocalDateTime getDataUtilizacao() {
+        return dataUtilizacao;
+    }
+
+    public Long getUsuarioLancamentoId() {
+        return usuarioLancamentoId;
+    }
+
+    public String getUsuarioLancamentoNome() {
+        return usuarioLancamentoNome;
+    }
+}
\ No newline at end of file
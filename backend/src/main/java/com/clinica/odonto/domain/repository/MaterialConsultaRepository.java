@@ -1,10 +1,15 @@
 package com.clinica.odonto.domain.repository;
 
 import com.clinica.odonto.domain.entity.Consulta;
-import com.clinica.odonto.domain.entity.Material;
 import com.clinica.odonto.domain.entity.MaterialConsulta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,21 +17,53 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MaterialConsultaRepository extends JpaRepository<MaterialConsulta, Long> {
 
-    @Query("SELECT mc FROM MaterialConsulta mc WHERE mc.consulta = :consulta ORDER BY mc.dataUtilizacao DESC")
-    List<MaterialConsulta> findByConsultaOrderByDataUtilizacaoDesc(@Param("consulta") Consulta consulta);
+    // Listagens leem só as colunas do MaterialConsultaResponse, sem entidades gerenciadas no contexto de persistência
+    String PROJECAO = "SELECT new com.clinica.odonto.domain.repository.MaterialConsultaProjection("
+            + "mc.id, mat.id, mat.nome, mat.codigo, mat.categoria, mat.unidadeMedida, mc.consulta.id, "
+            + "mc.quantidadeUtilizada, mc.precoUnitario, mc.valorTotal, mc.dataUtilizacao, u.id, u.nome) "
+            + "FROM MaterialConsulta mc JOIN mc.material mat LEFT JOIN mc.usuarioLancamento u ";
 
-    @Query("SELECT mc FROM MaterialConsulta mc WHERE mc.material = :material ORDER BY mc.dataUtilizacao DESC")
-    List<MaterialConsulta> findByMaterialOrderByDataUtilizacaoDesc(@Param("material") Material material);
+    @Query(PROJECAO)
+    List<MaterialConsultaProjection> findAllProjetados();
 
-    @Query("SELECT mc FROM MaterialConsulta mc WHERE mc.dataUtilizacao BETWEEN :dataInicio AND :dataFim ORDER BY mc.dataUtilizacao DESC")
-    List<MaterialConsulta> findByDataUtilizacaoBetweenOrderByDataUtilizacaoDesc(
-            @Param("dataInicio") LocalDateTime dataInicio, 
+    @Query(value = PROJECAO, countQuery = "SELECT COUNT(mc) FROM MaterialConsulta mc")
+    Page<MaterialConsultaProjection> findAllProjetados(Pageable pageable);
+
+    @Query(PROJECAO + "WHERE mc.consulta.id = :consultaId ORDER BY mc.dataUtilizacao DESC")
+    List<MaterialConsultaProjection> findProjetadosByConsultaId(@Param("consultaId") Long consultaId);
+
+    @Query(PROJECAO + "WHERE mat.id = :materialId ORDER BY mc.dataUtilizacao DESC")
+    List<MaterialConsultaProjection> findProjetadosByMaterialId(@Param("materialId") Long materialId);
+
+    @Query(PROJECAO + "WHERE mc.dataUtilizacao BETWEEN :dataInicio AND :dataFim ORDER BY mc.dataUtilizacao DESC")
+    List<MaterialConsultaProjection> findProjetadosByDataUtilizacaoBetween(
+            @Param("dataInicio") LocalDateTime dataInicio,
             @Param("dataFim") LocalDateTime dataFim);
 
+    // Paginação por cursor em (dataUtilizacao, id) decrescente; sem OFFSET e sem consulta de contagem
+    @Query(PROJECAO + "ORDER BY mc.dataUtilizacao DESC, mc.id DESC")
+    List<MaterialConsultaProjection> findProjetadosPrimeiraPagina(Limit limite);
+
+    @Query(PROJECAO + "WHERE mc.dataUtilizacao <= :dataUtilizacao AND (mc.dataUtilizacao < :dataUtilizacao OR mc.id < :id) "
+            + "ORDER BY mc.dataUtilizacao DESC, mc.id DESC")
+    List<MaterialConsultaProjection> findProjetadosAposCursor(@Param("dataUtilizacao") LocalDateTime dataUtilizacao, @Param("id") Long id, Limit limite);
+
+    // Exportação: percorre o resultado com cursor do JDBC em lotes, sem carregar a lista inteira
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PROJECAO + "ORDER BY mc.dataUtilizacao, mc.id")
+    Stream<MaterialConsultaProjection> streamProjetadosParaExportacao();
+
+    @Query("SELECT mc FROM MaterialConsulta mc WHERE mc.consulta = :consulta ORDER BY mc.dataUtilizacao DESC")
+    List<MaterialConsulta> findByConsultaOrderByDataUtilizacaoDesc(@Param("consulta") Consulta consulta);
+
     @Query("SELECT SUM(mc.valorTotal) FROM MaterialConsulta mc WHERE mc.consulta.id = :consultaId")
     Optional<BigDecimal> calcularValorTotalPorConsulta(@Param("consultaId") Long consultaId);
 
@@ -36,9 +73,9 @@ public interface MaterialConsultaRepository extends JpaRepository<MaterialConsul
             @Param("dataInicio") LocalDateTime dataInicio, 
             @Param("dataFim") LocalDateTime dataFim);
 
-    @Query("SELECT SUM(mc.valorTotal) FROM MaterialConsulta mc WHERE EXTRACT(MONTH FROM mc.dataUtilizacao) = EXTRACT(MONTH FROM CURRENT_DATE()) AND EXTRACT(YEAR FROM mc.dataUtilizacao) = EXTRACT(YEAR FROM CURRENT_DATE())")
-    Optional<BigDecimal> calcularValorTotalMesAtual();
+    @Query("SELECT SUM(mc.valorTotal) FROM MaterialConsulta mc WHERE mc.dataUtilizacao >= :inicio AND mc.dataUtilizacao < :fim")
+    Optional<BigDecimal> calcularValorTotalNoIntervalo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
-    @Query("SELECT COUNT(mc) FROM MaterialConsulta mc WHERE EXTRACT(MONTH FROM mc.dataUtilizacao) = EXTRACT(MONTH FROM CURRENT_DATE()) AND EXTRACT(YEAR FROM mc.dataUtilizacao) = EXTRACT(YEAR FROM CURRENT_DATE())")
-    Long countMateriaisUtilizadosMesAtual();
+    @Query("SELECT COUNT(mc) FROM MaterialConsulta mc WHERE mc.dataUtilizacao >= :inicio AND mc.dataUtilizacao < :fim")
+    Long countMateriaisUtilizadosNoIntervalo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.clinica.odonto.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha das listagens montada pelo próprio SELECT new do repositório. Diferente da projeção por interface,
+// não passa por proxy nem por conversão a cada getter.
+public class MaterialProjection {
+
+    private final Long id;
+    private final String nome;
+    private final String codigo;
+    private final String categoria;
+    private final String unidadeMedida;
+    private final BigDecimal estoqueAtual;
+    private final BigDecimal estoqueMinimo;
+    private final BigDecimal precoUnitario;
+    private final String descricao;
+    private final Boolean ativo;
+    private final LocalDateTime dataCadastro;
+    private final LocalDateTime dataAtualizacao;
+
+    public MaterialProjection(Long id, String nome, String codigo, String categoria, String unidadeMedida,
+                              BigDecimal estoqueAtual, BigDecimal estoqueMinimo, BigDecimal precoUnitario,
+                              String descricao, Boolean ativo, LocalDateTime dataCadastro,
+                              LocalDateTime dataAtualizacao) {
+        this.id = id;
+        this.nome = nome;
+        this.codigo = codigo;
+        this.categoria = categoria;
+        this.unidadeMedida = unidadeMedida;
+        this.estoqueAtual = estoqueAtual;
+        this.estoqueMinimo = estoqueMinimo;
+        this.precoUnitario = precoUnitario;
+        this.descricao = descricao;
+        this.ativo = ativo;
+        this.dataCadastro = dataCadastro;
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public String getUnidadeMedida() {
+        return unidadeMedida;
+    }
+
+    public BigDecimal getEstoqueAtual() {
+        return estoqueAtual;
+    }
+
+    public BigDecimal getEstoqueMinimo() {
+        return estoqueMinimo;
+    }
+
+    public BigDecimal getPrecoUnitario() {
+        return precoUnitario;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public Boolean getAtivo() {
+        return ativo;
+    }
+
+    public LocalDateTime getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+}
\ No newline at end of file
@@ -1,26 +1,63 @@
 package com.clinica.odonto.domain.repository;
 
 import com.clinica.odonto.domain.entity.Material;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MaterialRepository extends JpaRepository<Material, Long> {
 
-    Optional<Material> findByCodigo(String codigo);
+    // Listagens leem só as colunas do MaterialResponse, sem entidades gerenciadas no contexto de persistência
+    String PROJECAO = "SELECT new com.clinica.odonto.domain.repository.MaterialProjection("
+            + "m.id, m.nome, m.codigo, m.categoria, m.unidadeMedida, m.estoqueAtual, m.estoqueMinimo, "
+            + "m.precoUnitario, m.descricao, m.ativo, m.dataCadastro, m.dataAtualizacao) "
+            + "FROM Material m ";
 
-    boolean existsByCodigo(String codigo);
+    // Nenhuma consulta em cache depende do saldo (findAllCategorias só lê a categoria)
+    String ESPACO_ESTOQUE = "materiais_estoque";
+
+    @Query(PROJECAO + "WHERE m.ativo = true ORDER BY m.nome")
+    List<MaterialProjection> findAllAtivosProjetados();
+
+    // Consulta ao banco mesmo com o material no contexto de persistência: enxerga o saldo após um UPDATE em lote
+    @Query(PROJECAO + "WHERE m.id = :id")
+    Optional<MaterialProjection> findProjetadoById(@Param("id") Long id);
+
+    @Query(value = PROJECAO, countQuery = "SELECT COUNT(m) FROM Material m")
+    Page<MaterialProjection> findAllProjetados(Pageable pageable);
+
+    @Query(PROJECAO + "WHERE LOWER(m.nome) LIKE LOWER(CONCAT('%', :nome, '%')) AND m.ativo = true ORDER BY m.nome")
+    List<MaterialProjection> findProjetadosByNomeContainingIgnoreCase(@Param("nome") String nome);
+
+    @Query(PROJECAO + "WHERE LOWER(m.categoria) LIKE LOWER(CONCAT('%', :categoria, '%')) AND m.ativo = true ORDER BY m.nome")
+    List<MaterialProjection> findProjetadosByCategoriaContainingIgnoreCase(@Param("categoria") String categoria);
+
+    @Query(PROJECAO + "WHERE m.ativo = true AND (LOWER(m.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR LOWER(m.codigo) LIKE LOWER(CONCAT('%', :termo, '%')) OR LOWER(m.categoria) LIKE LOWER(CONCAT('%', :termo, '%'))) ORDER BY m.nome")
+    List<MaterialProjection> findProjetadosByNomeOrCodigoOrCategoriaContaining(@Param("termo") String termo);
 
-    @Query("SELECT m FROM Material m WHERE m.ativo = true ORDER BY m.nome")
-    List<Material> findAllAtivos();
+    // Indicador mantido a cada gravação: o índice parcial idx_materiais_estoque_baixo_nome entrega só os materiais em alerta, já ordenados
+    @Query(PROJECAO + "WHERE m.estoqueBaixo = true AND m.ativo = true ORDER BY m.nome")
+    List<MaterialProjection> findProjetadosComEstoqueBaixo();
 
-    @Query("SELECT m FROM Material m WHERE m.nome LIKE %:nome% AND m.ativo = true ORDER BY m.nome")
-    List<Material> findByNomeContainingAndAtivo(@Param("nome") String nome);
+    Optional<Material> findByCodigo(String codigo);
+
+    boolean existsByCodigo(String codigo);
 
     @Query("SELECT m FROM Material m WHERE m.categoria = :categoria AND m.ativo = true ORDER BY m.nome")
     List<Material> findByCategoriaAndAtivo(@Param("categoria") String categoria);
@@ -28,15 +65,40 @@ public interface MaterialRepository extends JpaRepository<Material, Long> {
     @Query("SELECT m FROM Material m WHERE m.codigo LIKE %:codigo% AND m.ativo = true ORDER BY m.codigo")
     List<Material> findByCodigoContainingAndAtivo(@Param("codigo") String codigo);
 
-    @Query("SELECT m FROM Material m WHERE m.estoqueAtual <= m.estoqueMinimo AND m.ativo = true ORDER BY m.nome")
-    List<Material> findMateriaisComEstoqueBaixo();
-
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT m.categoria FROM Material m WHERE m.ativo = true ORDER BY m.categoria")
     List<String> findAllCategorias();
 
     @Query("SELECT COUNT(m) FROM Material m WHERE m.ativo = true")
     Long countMateriaisAtivos();
 
-    @Query("SELECT COUNT(m) FROM Material m WHERE m.estoqueAtual <= m.estoqueMinimo AND m.ativo = true")
+    Long countByAtivo(Boolean ativo);
+
+    @Query("SELECT COUNT(m) FROM Material m WHERE m.estoqueBaixo = true AND m.ativo = true")
     Long countMateriaisComEstoqueBaixo();
+
+    // Lançamento em lote: bloqueia as linhas em ordem de id (lotes concorrentes não entram em deadlock) e traz os saldos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Material m WHERE m.id IN :ids ORDER BY m.id")
+    List<Material> findAllByIdParaAtualizacao(@Param("ids") Collection<Long> ids);
+
+    // Verificação de saldo e baixa em um único UPDATE condicional; 0 linhas = material inexistente ou estoque insuficiente.
+    // O indicador de estoque baixo é recalculado no mesmo UPDATE (o lado direito do SET enxerga os valores anteriores).
+    // SQL nativo sincronizado com um espaço próprio: um UPDATE em lote JPQL faria o Hibernate descartar a região
+    // inteira de Material no cache de segundo nível; aqui só o material alterado é invalidado, pelo serviço.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_ESTOQUE))
+    @Query(value = "UPDATE materiais SET estoque_atual = estoque_atual - :quantidade, data_atualizacao = :agora, "
+            + "estoque_baixo = CASE WHEN estoque_atual - :quantidade <= estoque_minimo THEN TRUE ELSE FALSE END "
+            + "WHERE id = :id AND estoque_atual >= :quantidade",
+            nativeQuery = true)
+    int debitarEstoque(@Param("id") Long id, @Param("quantidade") BigDecimal quantidade, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = ESPACO_ESTOQUE))
+    @Query(value = "UPDATE materiais SET estoque_atual = estoque_atual + :quantidade, data_atualizacao = :agora, "
+            + "estoque_baixo = CASE WHEN estoque_atual + :quantidade <= estoque_minimo THEN TRUE ELSE FALSE END "
+            + "WHERE id = :id",
+            nativeQuery = true)
+    int creditarEstoque(@Param("id") Long id, @Param("quantidade") BigDecimal quantidade, @Param("agora") LocalDateTime agora);
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.clinica.odonto.domain.repository;
+
+import com.clinica.odonto.domain.entity.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Linha das listagens montada pelo próprio SELECT new do repositório. Diferente da projeção por interface,
+// não passa por proxy nem por conversão a cada getter.
+public class MovimentacaoMaterialProjection {
+
+    private final Long id;
+    private final Long materialId;
+    private final String materialNome;
+    private final String materialCodigo;
+    private final TipoMovimentacao tipoMovimentacao;
+    private final BigDecimal quantidade;
+    private final BigDecimal estoqueAnterior;
+    private final BigDecimal estoqueAtual;
+    private final String observacoes;
+    private final LocalDateTime dataMovimentacao;
+    private final Long usuarioId;
+    private final String usuarioNome;
+    private final Long consultaId;
+
+    public MovimentacaoMaterialProjection(Long id, Long materialId, String materialNome, String materialCodigo,
+                                          TipoMovimentacao tipoMovimentacao, BigDecimal quantidade,
+                                          BigDecimal estoqueAnterior, BigDecimal estoqueAtual, String observacoes,
+                                          LocalDateTime dataMovimentacao, Long usuarioId, String usuarioNome,
+                                          Long consultaId) {
+        this.id = id;
+        this.materialId = materialId;
+        this.materialNome = materialNome;
+        this.materialCodigo = materialCodigo;
+        this.tipoMovimentacao = tipoMovimentacao;
+        this.quantidade = quantidade;
+        this.estoqueAnterior = estoqueAnterior;
+        this.estoqueAtual = estoqueAtual;
+        this.observacoes = observacoes;
+        this.dataMovimentacao = dataMovimentacao;
+        this.usuarioId = usuarioId;
+        this.usuarioNome = usuarioNome;
+        this.consultaId = consultaId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMaterialId() {
+        return materialId;
+    }
+
+    public String getMaterialNome() {
+        return materialNome;
+    }
+
+    public String getMaterialCodigo() {
+        return materialCodigo;
+    }
+
+    public TipoMovimentacao getTipoMovimentacao() {
+        return tipoMovimentacao;
+    }
+
+    public BigDecimal getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getEstoqueAnterior() {
+        return estoqueAnterior;
+    }
+
+    public BigDecimal getEstoqueAtual() {
+        return estoqueAtual;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public LocalDateTime getDataMovimentacao() {
+        return dataMovimentacao;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public String getUsuarioNome() {
+        return usuarioNome;
+    }
+
+    public Long getConsultaId() {
+        return consultaId;
+    }
+}
\ No newline at end of file
@@ -1,39 +1,79 @@
 package com.clinica.odonto.domain.repository;
 
-import com.clinica.odonto.domain.entity.Material;
 import com.clinica.odonto.domain.entity.MovimentacaoMaterial;
 import com.clinica.odonto.domain.entity.TipoMovimentacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovimentacaoMaterialRepository extends JpaRepository<MovimentacaoMaterial, Long> {
 
-    @Query("SELECT m FROM MovimentacaoMaterial m WHERE m.material = :material ORDER BY m.dataMovimentacao DESC")
-    List<MovimentacaoMaterial> findByMaterialOrderByDataMovimentacaoDesc(@Param("material") Material material);
+    // Listagens leem só as colunas do MovimentacaoMaterialResponse, sem entidades gerenciadas no contexto de persistência
+    String PROJECAO = "SELECT new com.clinica.odonto.domain.repository.MovimentacaoMaterialProjection("
+            + "m.id, mat.id, mat.nome, mat.codigo, m.tipoMovimentacao, m.quantidade, m.estoqueAnterior, "
+            + "m.estoqueAtual, m.observacoes, m.dataMovimentacao, u.id, u.nome, m.consulta.id) "
+            + "FROM MovimentacaoMaterial m JOIN m.material mat LEFT JOIN m.usuario u ";
 
-    @Query("SELECT m FROM MovimentacaoMaterial m WHERE m.tipoMovimentacao = :tipo ORDER BY m.dataMovimentacao DESC")
-    List<MovimentacaoMaterial> findByTipoMovimentacaoOrderByDataMovimentacaoDesc(@Param("tipo") TipoMovimentacao tipo);
+    @Query(PROJECAO)
+    List<MovimentacaoMaterialProjection> findAllProjetadas();
+
+    @Query(value = PROJECAO, countQuery = "SELECT COUNT(m) FROM MovimentacaoMaterial m")
+    Page<MovimentacaoMaterialProjection> findAllProjetadas(Pageable pageable);
 
-    @Query("SELECT m FROM MovimentacaoMaterial m WHERE m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC")
-    List<MovimentacaoMaterial> findByDataMovimentacaoBetweenOrderByDataMovimentacaoDesc(
-            @Param("dataInicio") LocalDateTime dataInicio, 
+    @Query(PROJECAO + "WHERE mat.id = :materialId ORDER BY m.dataMovimentacao DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasByMaterialId(@Param("materialId") Long materialId);
+
+    @Query(PROJECAO + "WHERE m.tipoMovimentacao = :tipo ORDER BY m.dataMovimentacao DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasByTipoMovimentacao(@Param("tipo") TipoMovimentacao tipo);
+
+    @Query(PROJECAO + "WHERE m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasByDataMovimentacaoBetween(
+            @Param("dataInicio") LocalDateTime dataInicio,
             @Param("dataFim") LocalDateTime dataFim);
 
-    @Query("SELECT m FROM MovimentacaoMaterial m WHERE m.material = :material AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC")
-    List<MovimentacaoMaterial> findByMaterialAndDataMovimentacaoBetweenOrderByDataMovimentacaoDesc(
-            @Param("material") Material material,
-            @Param("dataInicio") LocalDateTime dataInicio, 
+    @Query(PROJECAO + "WHERE mat.id = :materialId AND m.dataMovimentacao BETWEEN :dataInicio AND :dataFim ORDER BY m.dataMovimentacao DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasByMaterialIdAndDataMovimentacaoBetween(
+            @Param("materialId") Long materialId,
+            @Param("dataInicio") LocalDateTime dataInicio,
             @Param("dataFim") LocalDateTime dataFim);
 
+    @Query(PROJECAO + "WHERE m.consulta.id = :consultaId ORDER BY m.dataMovimentacao DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasByConsultaId(@Param("consultaId") Long consultaId);
+
+    // Paginação por cursor em (dataMovimentacao, id) decrescente; sem OFFSET e sem consulta de contagem
+    @Query(PROJECAO + "ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasPrimeiraPagina(Limit limite);
+
+    @Query(PROJECAO + "WHERE m.dataMovimentacao <= :dataMovimentacao AND (m.dataMovimentacao < :dataMovimentacao OR m.id < :id) "
+            + "ORDER BY m.dataMovimentacao DESC, m.id DESC")
+    List<MovimentacaoMaterialProjection> findProjetadasAposCursor(@Param("dataMovimentacao") LocalDateTime dataMovimentacao, @Param("id") Long id, Limit limite);
+
+    // Exportação: percorre o resultado com cursor do JDBC em lotes, sem carregar a lista inteira
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PROJECAO + "ORDER BY m.dataMovimentacao, m.id")
+    Stream<MovimentacaoMaterialProjection> streamProjetadasParaExportacao();
+
+    @Query("SELECT m FROM MovimentacaoMaterial m WHERE m.tipoMovimentacao = :tipo ORDER BY m.dataMovimentacao DESC")
+    List<MovimentacaoMaterial> findByTipoMovimentacaoOrderByDataMovimentacaoDesc(@Param("tipo") TipoMovimentacao tipo);
+
     @Query("SELECT m FROM MovimentacaoMaterial m WHERE m.consulta.id = :consultaId ORDER BY m.dataMovimentacao DESC")
     List<MovimentacaoMaterial> findByConsultaIdOrderByDataMovimentacaoDesc(@Param("consultaId") Long consultaId);
 
-    @Query("SELECT COUNT(m) FROM MovimentacaoMaterial m WHERE EXTRACT(MONTH FROM m.dataMovimentacao) = EXTRACT(MONTH FROM CURRENT_DATE()) AND EXTRACT(YEAR FROM m.dataMovimentacao) = EXTRACT(YEAR FROM CURRENT_DATE())")
-    Long countMovimentacoesNoMes();
+    @Query("SELECT COUNT(m) FROM MovimentacaoMaterial m WHERE m.dataMovimentacao >= :inicio AND m.dataMovimentacao < :fim")
+    Long countMovimentacoesNoIntervalo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 }
\ No newline at end of file
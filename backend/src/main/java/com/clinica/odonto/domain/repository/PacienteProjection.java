@@ -0,0 +1,109 @@
+package com.clinica.odonto.domain.repository;
+
+import com.clinica.odonto.domain.entity.Endereco;
+import com.clinica.odonto.domain.entity.Sexo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Linha das listagens montada pelo próprio SELECT new do repositório. Diferente da projeção por interface,
+// não passa por proxy nem por conversão a cada getter.
+public class PacienteProjection {
+
+    private final Long id;
+    private final String nome;
+    private final String cpf;
+    private final LocalDate dataNascimento;
+    private final Sexo sexo;
+    private final String email;
+    private final String telefone;
+    private final String celular;
+    private final Endereco endereco;
+    private final String observacoes;
+    private final Boolean ativo;
+    private final LocalDateTime dataCadastro;
+    private final LocalDateTime dataAtualizacao;
+    private final Long planoSaudeId;
+    private final String planoSaudeNome;
+
+    public PacienteProjection(Long id, String nome, String cpf, LocalDate dataNascimento, Sexo sexo, String email,
+                              String telefone, String celular, Endereco endereco, String observacoes,
+                              Boolean ativo, LocalDateTime dataCadastro, LocalDateTime dataAtualizacao,
+                              Long planoSaudeId, String planoSaudeNome) {
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.dataNascimento = dataNascimento;
+        this.sexo = sexo;
+        this.email = email;
+        this.telefone = telefone;
+        this.celular = celular;
+        this.endereco = endereco;
+        this.observacoes = observacoes;
+        this.ativo = ativo;
+        this.dataCadastro = dataCadastro;
+        this.dataAtualizacao = dataAtualizacao;
+        this.planoSaudeId = planoSaudeId;
+        this.planoSaudeNome = planoSaudeNome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public LocalDate getDataNascimento() {
+        return dataNascimento;
+    }
+
+    public Sexo getSexo() {
+        return sexo;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public String getCelular() {
+        return celular;
+    }
+
+    public Endereco getEndereco() {
+        return endereco;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public Boolean getAtivo() {
+        return ativo;
+    }
+
+    public LocalDateTime getDataCadastro() {
+        return dataCadastro;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    public Long getPlanoSaudeId() {
+        return planoSaudeId;
+    }
+
+    public String getPlanoSaudeNome() {
+        return planoSaudeNome;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.clinica.odonto.domain.repository;
 
 import com.clinica.odonto.domain.entity.Paciente;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,19 +14,22 @@ import java.util.Optional;
 @Repository
 public interface PacienteRepository extends JpaRepository<Paciente, Long> {
 
-    Optional<Paciente> findByCpf(String cpf);
+    // Listagens leem só as colunas do PacienteResponse, sem entidades gerenciadas no contexto de persistência
+    String PROJECAO = "SELECT new com.clinica.odonto.domain.repository.PacienteProjection("
+            + "p.id, p.nome, p.cpf, p.dataNascimento, p.sexo, p.email, p.telefone, p.celular, p.endereco, "
+            + "p.observacoes, p.ativo, p.dataCadastro, p.dataAtualizacao, ps.id, ps.nome) "
+            + "FROM Paciente p LEFT JOIN p.planoSaude ps ";
 
-    boolean existsByCpf(String cpf);
+    @Query(PROJECAO + "WHERE p.ativo = true ORDER BY p.nome")
+    List<PacienteProjection> findAllAtivosProjetados();
 
-    @Query("SELECT p FROM Paciente p WHERE p.ativo = true ORDER BY p.nome")
-    List<Paciente> findAllAtivos();
+    @Query(value = PROJECAO, countQuery = "SELECT COUNT(p) FROM Paciente p")
+    Page<PacienteProjection> findAllProjetados(Pageable pageable);
 
-    @Query("SELECT p FROM Paciente p WHERE p.nome LIKE %:nome% AND p.ativo = true ORDER BY p.nome")
-    List<Paciente> findByNomeContainingAndAtivo(@Param("nome") String nome);
+    @Query(PROJECAO + "WHERE p.nome LIKE %:nome% AND p.ativo = true ORDER BY p.nome")
+    List<PacienteProjection> findProjetadosByNomeContainingAndAtivo(@Param("nome") String nome);
 
-    @Query("SELECT COUNT(p) FROM Paciente p WHERE p.ativo = true")
-    Long countPacientesAtivos();
+    Optional<Paciente> findByCpf(String cpf);
 
-    @Query("SELECT COUNT(p) FROM Paciente p WHERE EXTRACT(MONTH FROM p.dataCadastro) = EXTRACT(MONTH FROM CURRENT_DATE()) AND EXTRACT(YEAR FROM p.dataCadastro) = EXTRACT(YEAR FROM CURRENT_DATE())")
-    Long countPacientesCadastradosNoMes();
+    boolean existsByCpf(String cpf);
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.clinica.odonto.domain.repository;
 
 import com.clinica.odonto.domain.entity.PlanoSaude;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +19,7 @@ public interface PlanoSaudeRepository extends JpaRepository<PlanoSaude, Long> {
 
     boolean existsByCodigoAns(String codigoAns);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM PlanoSaude p WHERE p.ativo = true ORDER BY p.nome")
     List<PlanoSaude> findAllAtivos();
 
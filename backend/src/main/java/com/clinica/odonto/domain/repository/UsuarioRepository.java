@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,6 +19,11 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Query("SELECT u FROM Usuario u WHERE u.email = :email AND u.ativo = true")
     Optional<Usuario> findByEmailAndAtivo(@Param("email") String email);
 
-    @Query("SELECT COUNT(u) FROM Usuario u WHERE u.ativo = true")
-    Long countUsuariosAtivos();
+    // Só usuários com tokens já revogados: os demais aceitam qualquer token da versão inicial
+    @Query("SELECT u.id AS id, u.versaoToken AS versaoToken FROM Usuario u WHERE u.versaoToken > 0")
+    List<VersaoTokenProjection> findVersoesTokenRevogadas();
+
+    // Consulta escalar, fora do cache de segundo nível: sincroniza revogações feitas em outra instância
+    @Query("SELECT u.versaoToken FROM Usuario u WHERE u.id = :id")
+    Optional<Integer> findVersaoTokenById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.clinica.odonto.domain.repository;
+
+public interface VersaoTokenProjection {
+
+    Long getId();
+
+    Integer getVersaoToken();
+}
\ No newline at end of file
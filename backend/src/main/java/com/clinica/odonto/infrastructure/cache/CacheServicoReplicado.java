@@ -0,0 +1,114 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Cache de serviço cujos descartes se repetem nas demais instâncias: cada nó descarta só o que os @CacheEvict
+// da gravação descartaram no nó de origem. Movimentar estoque, por exemplo, não esvazia as categorias dos outros nós.
+public class CacheServicoReplicado implements Cache {
+
+    private static final String TOPICO = "caches-servico";
+
+    private final Cache local;
+    private final EventosDistribuidos eventos;
+
+    public CacheServicoReplicado(Cache local, EventosDistribuidos eventos) {
+        this.local = local;
+        this.eventos = eventos;
+    }
+
+    // Aplica os descartes das outras instâncias direto nos caches locais, sem repassá-los de novo; se algum
+    // pode ter se perdido, esvazia todos
+    public static void inscrever(EventosDistribuidos eventos, Collection<CacheServicoReplicado> caches) {
+        Map<String, Cache> locais = caches.stream()
+                .collect(Collectors.toMap(Cache::getName, cache -> cache.local));
+        eventos.inscrever(TOPICO, Descarte.class, descarte -> {
+            Cache cache = locais.get(descarte.cache());
+            if (cache == null) {
+                return;
+            }
+            if (descarte.chave() != null) {
+                cache.evict(descarte.chave());
+            } else {
+                cache.invalidate();
+            }
+        }, () -> locais.values().forEach(Cache::invalidate));
+    }
+
+    public Cache getLocal() {
+        return local;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return local.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return local.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return local.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        repassar(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean presente = local.evictIfPresent(key);
+        repassar(key);
+        return presente;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        repassar(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean possuiaEntradas = local.invalidate();
+        repassar(null);
+        return possuiaEntradas;
+    }
+
+    // As chaves dos serviços são textos fixos ('ativos', 'todos'); outra chave descarta o cache inteiro lá
+    private void repassar(Object chave) {
+        eventos.publicar(TOPICO, new Descarte(getName(), chave instanceof String texto ? texto : null));
+    }
+
+    public record Descarte(String cache, String chave) {}
+}
\ No newline at end of file
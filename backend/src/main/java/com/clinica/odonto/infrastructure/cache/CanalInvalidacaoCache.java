@@ -0,0 +1,15 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import java.util.function.Consumer;
+
+// Transporte de mensagens de texto entre as instâncias, separado por tópico: invalidações de cache e
+// eventos repassados às demais instâncias (EventosDistribuidos). Quem publica também recebe a própria mensagem.
+public interface CanalInvalidacaoCache {
+
+    // Entregue a todos os receptores quando o canal pode ter perdido mensagens (ex.: reconexão)
+    String MENSAGENS_PERDIDAS = "";
+
+    void publicar(String topico, String conteudo);
+
+    void inscrever(String topico, Consumer<String> receptor);
+}
\ No newline at end of file
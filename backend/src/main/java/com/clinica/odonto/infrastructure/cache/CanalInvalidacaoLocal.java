@@ -0,0 +1,44 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+// Entrega síncrona a todos os contextos da mesma JVM: basta para um único nó e para subir
+// dois contextos da aplicação lado a lado e conferir a coerência dos caches
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidacao.canal", havingValue = "local", matchIfMissing = true)
+public class CanalInvalidacaoLocal implements CanalInvalidacaoCache {
+
+    private static final Set<Inscricao> INSCRICOES = new CopyOnWriteArraySet<>();
+
+    private final Set<Inscricao> inscricoesDoContexto = new CopyOnWriteArraySet<>();
+
+    @Override
+    public void publicar(String topico, String conteudo) {
+        for (Inscricao inscricao : INSCRICOES) {
+            if (inscricao.topico().equals(topico)) {
+                inscricao.receptor().accept(conteudo);
+            }
+        }
+    }
+
+    @Override
+    public void inscrever(String topico, Consumer<String> receptor) {
+        Inscricao inscricao = new Inscricao(topico, receptor);
+        inscricoesDoContexto.add(inscricao);
+        INSCRICOES.add(inscricao);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        INSCRICOES.removeAll(inscricoesDoContexto);
+        inscricoesDoContexto.clear();
+    }
+
+    private record Inscricao(String topico, Consumer<String> receptor) {}
+}
\ No newline at end of file
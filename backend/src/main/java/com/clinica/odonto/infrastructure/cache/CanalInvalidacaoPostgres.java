@@ -0,0 +1,157 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+// LISTEN/NOTIFY do PostgreSQL: todas as instâncias ligadas ao mesmo banco recebem as mensagens.
+// Usa uma conexão própria, fora do pool do Hikari, para escutar e também para enviar os NOTIFY,
+// de modo que a publicação não bloqueia a requisição que fez a gravação.
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidacao.canal", havingValue = "postgres")
+public class CanalInvalidacaoPostgres implements CanalInvalidacaoCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CanalInvalidacaoPostgres.class);
+
+    private static final String CANAL = "clinica_invalidacao_cache";
+    private static final int ESPERA_NOTIFICACOES_MS = 200;
+    private static final long ESPERA_RECONEXAO_MS = 2000;
+    // O payload do NOTIFY leva o tópico antes do conteúdo: topico|conteudo
+    private static final char SEPARADOR_TOPICO = '|';
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String usuario;
+
+    @Value("${spring.datasource.password}")
+    private String senha;
+
+    private final Map<String, Set<Consumer<String>>> receptores = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<String> pendentes = new LinkedBlockingQueue<>();
+
+    private volatile boolean ativo = true;
+
+    private Thread escuta;
+
+    @PostConstruct
+    public void iniciar() {
+        escuta = new Thread(this::escutar, "invalidacao-cache-pg");
+        escuta.setDaemon(true);
+        escuta.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        escuta.interrupt();
+        escuta.join(ESPERA_RECONEXAO_MS);
+    }
+
+    @Override
+    public void publicar(String topico, String conteudo) {
+        pendentes.add(topico + SEPARADOR_TOPICO + conteudo);
+    }
+
+    @Override
+    public void inscrever(String topico, Consumer<String> receptor) {
+        receptores.computeIfAbsent(topico, chave -> new CopyOnWriteArraySet<>()).add(receptor);
+    }
+
+    private void escutar() {
+        boolean reconexao = false;
+        while (ativo) {
+            try (Connection conexao = DriverManager.getConnection(url, usuario, senha)) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + CANAL);
+                }
+                // Notificações enviadas enquanto a conexão estava caída se perderam
+                if (reconexao) {
+                    log.info("Canal de invalidação de cache reconectado; avisando os receptores de possíveis perdas");
+                    receptores.forEach((topico, receptoresDoTopico) -> entregar(topico, receptoresDoTopico, MENSAGENS_PERDIDAS));
+                }
+
+                PGConnection pgConnection = conexao.unwrap(PGConnection.class);
+                while (ativo) {
+                    enviarPendentes(conexao);
+                    PGNotification[] notificacoes = pgConnection.getNotifications(ESPERA_NOTIFICACOES_MS);
+                    if (notificacoes != null) {
+                        for (PGNotification notificacao : notificacoes) {
+                            receber(notificacao.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!ativo) {
+                    return;
+                }
+                log.warn("Falha no canal de invalidação de cache: {}", e.getMessage());
+                reconexao = true;
+                aguardarReconexao();
+            }
+        }
+    }
+
+    private void enviarPendentes(Connection conexao) throws SQLException {
+        String mensagem;
+        try (PreparedStatement statement = conexao.prepareStatement("SELECT pg_notify(?, ?)")) {
+            // Só sai da fila depois de enviada: se a conexão cair, vai na próxima
+            while ((mensagem = pendentes.peek()) != null) {
+                statement.setString(1, CANAL);
+                statement.setString(2, mensagem);
+                statement.execute();
+                pendentes.poll();
+            }
+        }
+    }
+
+    private void receber(String payload) {
+        int separador = payload.indexOf(SEPARADOR_TOPICO);
+        if (separador < 0) {
+            log.error("Mensagem sem tópico recebida no canal: {}", payload);
+            return;
+        }
+        String topico = payload.substring(0, separador);
+        entregar(topico, receptores.getOrDefault(topico, Set.of()), payload.substring(separador + 1));
+    }
+
+    private void entregar(String topico, Set<Consumer<String>> receptoresDoTopico, String conteudo) {
+        for (Consumer<String> receptor : receptoresDoTopico) {
+            try {
+                receptor.accept(conteudo);
+            } catch (RuntimeException e) {
+                log.error("Erro ao processar mensagem do tópico {}: {}", topico, conteudo, e);
+            }
+        }
+    }
+
+    private void aguardarReconexao() {
+        try {
+            Thread.sleep(ESPERA_RECONEXAO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ativo = false;
+        }
+    }
+}
\ No newline at end of file
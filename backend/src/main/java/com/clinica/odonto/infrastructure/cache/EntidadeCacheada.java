@@ -0,0 +1,39 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import com.clinica.odonto.domain.entity.Dentista;
+import com.clinica.odonto.domain.entity.Material;
+import com.clinica.odonto.domain.entity.Paciente;
+import com.clinica.odonto.domain.entity.PlanoSaude;
+import com.clinica.odonto.domain.entity.Usuario;
+
+import java.util.Optional;
+
+// Entidades cujas alterações precisam ser propagadas aos demais nós
+public enum EntidadeCacheada {
+
+    PLANO_SAUDE(PlanoSaude.class),
+    DENTISTA(Dentista.class),
+    USUARIO(Usuario.class),
+    MATERIAL(Material.class),
+    // Não fica no cache de segundo nível, mas entra nas consultas em cache
+    PACIENTE(Paciente.class);
+
+    private final Class<?> classe;
+
+    EntidadeCacheada(Class<?> classe) {
+        this.classe = classe;
+    }
+
+    public Class<?> getClasse() {
+        return classe;
+    }
+
+    public static Optional<EntidadeCacheada> de(Class<?> classe) {
+        for (EntidadeCacheada entidade : values()) {
+            if (entidade.classe.equals(classe)) {
+                return Optional.of(entidade);
+            }
+        }
+        return Optional.empty();
+    }
+}
\ No newline at end of file
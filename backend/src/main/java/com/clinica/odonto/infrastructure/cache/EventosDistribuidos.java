@@ -0,0 +1,57 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Repassa às demais instâncias, em JSON pelo mesmo canal das invalidações, eventos já confirmados que
+// alimentam estado em memória (contadores do dashboard, alertas SSE). Cada instância recebe só os eventos das outras.
+@Component
+public class EventosDistribuidos {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosDistribuidos.class);
+
+    private static final char SEPARADOR = ';';
+
+    private final String origem = UUID.randomUUID().toString();
+
+    @Autowired
+    private CanalInvalidacaoCache canal;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void publicar(String topico, Object evento) {
+        try {
+            canal.publicar(topico, origem + SEPARADOR + objectMapper.writeValueAsString(evento));
+        } catch (JsonProcessingException e) {
+            log.error("Não foi possível repassar o evento do tópico {} às demais instâncias", topico, e);
+        }
+    }
+
+    // aoPerderMensagens roda quando o canal avisa que eventos de outras instâncias podem ter se perdido
+    public <T> void inscrever(String topico, Class<T> tipo, Consumer<T> receptor, Runnable aoPerderMensagens) {
+        canal.inscrever(topico, conteudo -> {
+            if (CanalInvalidacaoCache.MENSAGENS_PERDIDAS.equals(conteudo)) {
+                aoPerderMensagens.run();
+                return;
+            }
+
+            int separador = conteudo.indexOf(SEPARADOR);
+            if (separador < 0 || conteudo.substring(0, separador).equals(origem)) {
+                return;
+            }
+            try {
+                receptor.accept(objectMapper.readValue(conteudo.substring(separador + 1), tipo));
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("Erro ao aplicar evento do tópico {} recebido de outra instância", topico, e);
+            }
+        });
+    }
+}
\ No newline at end of file
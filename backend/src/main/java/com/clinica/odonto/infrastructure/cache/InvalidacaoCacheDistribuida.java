@@ -0,0 +1,190 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import com.clinica.odonto.domain.entity.Dentista;
+import com.clinica.odonto.infrastructure.security.VersaoTokenRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+// Propaga para as demais instâncias as gravações confirmadas nas entidades em cache. Localmente o
+// Hibernate já mantém os caches; nos outros nós são descartados a entrada da entidade no cache de segundo
+// nível e, no cache de consultas, só os resultados que leem as tabelas dela. Os @CacheEvict dos serviços
+// se repetem nos outros nós por conta própria (CacheServicoReplicado).
+@Component
+public class InvalidacaoCacheDistribuida implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidacaoCacheDistribuida.class);
+
+    private static final String PLANOS_ACEITOS = Dentista.class.getName() + ".planosAceitos";
+
+    private static final String TOPICO = "invalidacao-cache";
+
+    // Identifica esta instância para ignorar as próprias mensagens
+    private final String origem = UUID.randomUUID().toString();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CanalInvalidacaoCache canal;
+
+    @Autowired
+    private VersaoTokenRegistry versaoTokenRegistry;
+
+    @PostConstruct
+    public void registrar() {
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        canal.inscrever(TOPICO, this::receber);
+    }
+
+    public void publicar(EntidadeCacheada entidade, Long id) {
+        canal.publicar(TOPICO, new MensagemInvalidacao(origem, entidade, id).paraTexto());
+    }
+
+    // Para gravações que não passam pela sessão (UPDATE nativo), que o Hibernate não notifica nem reflete no cache
+    // de segundo nível: a entrada local é descartada já, para as leituras desta transação, e de novo após o commit,
+    // caso outra transação a tenha recarregado com o valor anterior nesse meio-tempo
+    public void invalidarAposCommit(EntidadeCacheada entidade, Long id) {
+        Cache cacheHibernate = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        cacheHibernate.evictEntityData(entidade.getClasse(), id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheHibernate.evictEntityData(entidade.getClasse(), id);
+                    publicar(entidade, id);
+                }
+            });
+        } else {
+            publicar(entidade, id);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return EntidadeCacheada.de(persister.getMappedClass()).isPresent();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publicar(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publicar(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publicar(event.getPersister(), event.getId());
+    }
+
+    // Transação revertida: nada mudou no banco
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publicar(EntityPersister persister, Object id) {
+        EntidadeCacheada.de(persister.getMappedClass())
+                .ifPresent(entidade -> publicar(entidade, (Long) id));
+    }
+
+    private void receber(String conteudo) {
+        // Mensagens possivelmente perdidas: descarta tudo, como se outra instância tivesse pedido
+        aplicar(CanalInvalidacaoCache.MENSAGENS_PERDIDAS.equals(conteudo)
+                ? MensagemInvalidacao.tudo("")
+                : MensagemInvalidacao.deTexto(conteudo));
+    }
+
+    private void aplicar(MensagemInvalidacao mensagem) {
+        if (origem.equals(mensagem.origem())) {
+            return;
+        }
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Cache cacheHibernate = sessionFactory.getCache();
+        if (mensagem.invalidaTudo()) {
+            cacheHibernate.evictAllRegions();
+            versaoTokenRegistry.carregar();
+            return;
+        }
+
+        EntidadeCacheada entidade = mensagem.entidade();
+        Long id = mensagem.id();
+        log.debug("Invalidação recebida: {} {}", entidade, id);
+
+        if (id != null) {
+            cacheHibernate.evictEntityData(entidade.getClasse(), id);
+        } else {
+            cacheHibernate.evictEntityData(entidade.getClasse());
+        }
+        if (entidade == EntidadeCacheada.DENTISTA) {
+            if (id != null) {
+                cacheHibernate.evictCollectionData(PLANOS_ACEITOS, id);
+            } else {
+                cacheHibernate.evictCollectionData(PLANOS_ACEITOS);
+            }
+        }
+        invalidarConsultas(sessionFactory, entidade);
+
+        if (entidade == EntidadeCacheada.USUARIO && id != null) {
+            versaoTokenRegistry.sincronizar(id);
+        }
+    }
+
+    // Os timestamps de atualização só registram as gravações locais: marca as tabelas da entidade como alteradas
+    // agora, o que invalida os resultados em cache que as leem e preserva os demais
+    private static void invalidarConsultas(SessionFactoryImplementor sessionFactory, EntidadeCacheada entidade) {
+        MappingMetamodel metamodel = sessionFactory.getRuntimeMetamodels().getMappingMetamodel();
+        Set<String> tabelas = new LinkedHashSet<>(
+                Arrays.asList(metamodel.getEntityDescriptor(entidade.getClasse()).getPropertySpaces()));
+        if (entidade == EntidadeCacheada.DENTISTA) {
+            tabelas.addAll(Arrays.asList(metamodel.getCollectionDescriptor(PLANOS_ACEITOS).getCollectionSpaces()));
+        }
+
+        try (StatelessSession sessao = sessionFactory.openStatelessSession()) {
+            sessionFactory.getCache().getTimestampsCache()
+                    .invalidate(tabelas.toArray(String[]::new), (SharedSessionContractImplementor) sessao);
+        }
+    }
+}
\ No newline at end of file
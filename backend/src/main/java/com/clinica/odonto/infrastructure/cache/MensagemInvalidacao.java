@@ -0,0 +1,30 @@
+package com.clinica.odonto.infrastructure.cache;
+
+// Entidade alterada em um nó; sem entidade, todos os caches devem ser descartados
+public record MensagemInvalidacao(String origem, EntidadeCacheada entidade, Long id) {
+
+    private static final String SEPARADOR = ";";
+
+    public static MensagemInvalidacao tudo(String origem) {
+        return new MensagemInvalidacao(origem, null, null);
+    }
+
+    public boolean invalidaTudo() {
+        return entidade == null;
+    }
+
+    // Formato compacto para o payload do NOTIFY: origem;ENTIDADE;id
+    public String paraTexto() {
+        return origem + SEPARADOR + (entidade != null ? entidade.name() : "") + SEPARADOR + (id != null ? id : "");
+    }
+
+    public static MensagemInvalidacao deTexto(String texto) {
+        String[] partes = texto.split(SEPARADOR, -1);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Mensagem de invalidação inválida: " + texto);
+        }
+        EntidadeCacheada entidade = partes[1].isEmpty() ? null : EntidadeCacheada.valueOf(partes[1]);
+        Long id = partes[2].isEmpty() ? null : Long.valueOf(partes[2]);
+        return new MensagemInvalidacao(partes[0], entidade, id);
+    }
+}
\ No newline at end of file
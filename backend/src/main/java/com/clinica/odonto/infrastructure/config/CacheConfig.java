@@ -0,0 +1,61 @@
+package com.clinica.odonto.infrastructure.config;
+
+import com.clinica.odonto.infrastructure.cache.CacheServicoReplicado;
+import com.clinica.odonto.infrastructure.cache.EventosDistribuidos;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Respostas de leitura dos serviços; chaves fixas por listagem
+    public static final String PLANOS_SAUDE = "planos-saude";
+    public static final String DENTISTAS = "dentistas";
+    public static final String CATEGORIAS_MATERIAIS = "categorias-materiais";
+
+    @Bean
+    public CacheManager cacheManager(EventosDistribuidos eventos) {
+        List<CacheServicoReplicado> caches = List.of(
+                new CacheServicoReplicado(criarCache(PLANOS_SAUDE, 10, Duration.ofMinutes(30)), eventos),
+                new CacheServicoReplicado(criarCache(DENTISTAS, 10, Duration.ofMinutes(30)), eventos),
+                new CacheServicoReplicado(criarCache(CATEGORIAS_MATERIAIS, 10, Duration.ofMinutes(30)), eventos)
+        );
+        CacheServicoReplicado.inscrever(eventos, caches);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        cacheManager.initializeCaches();
+
+        // @CacheEvict só é aplicado após o commit, para que uma leitura concorrente não
+        // repopule o cache com o estado anterior à gravação
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // O Actuator só reconhece o CaffeineCache: as métricas vêm do cache local envolvido
+    @Bean
+    public CacheMeterBinderProvider<CacheServicoReplicado> cacheServicoReplicadoMeterBinderProvider() {
+        CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> caffeine.getMeterBinder((CaffeineCache) cache.getLocal(), tags);
+    }
+
+    // Estatísticas de acerto/falha exportadas pelo Actuator em cache.gets
+    private static CaffeineCache criarCache(String nome, long tamanhoMaximo, Duration expiracao) {
+        return new CaffeineCache(nome, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build());
+    }
+}
\ No newline at end of file
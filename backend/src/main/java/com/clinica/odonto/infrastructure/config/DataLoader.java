@@ -3,6 +3,8 @@ package com.clinica.odonto.infrastructure.config;
 import com.clinica.odonto.domain.entity.TipoUsuario;
 import com.clinica.odonto.domain.entity.Usuario;
 import com.clinica.odonto.domain.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,6 +13,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataLoader implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -53,9 +57,9 @@ public class DataLoader implements CommandLineRunner {
         recepcionista.setAtivo(true);
         usuarioRepository.save(recepcionista);
 
-        System.out.println("Usuários padrão criados com sucesso!");
-        System.out.println("Admin: admin@clinica.com / admin123");
-        System.out.println("Dentista: dentista@clinica.com / dentista123");
-        System.out.println("Recepcionista: recepcao@clinica.com / recepcao123");
+        log.info("Usuários padrão criados com sucesso!");
+        log.info("Admin: admin@clinica.com / admin123");
+        log.info("Dentista: dentista@clinica.com / dentista123");
+        log.info("Recepcionista: recepcao@clinica.com / recepcao123");
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.clinica.odonto.infrastructure.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    // Timer dos métodos públicos dos serviços anotados com @Timed (tags class, method e exception)
+    public static final String TIMER_SERVICOS = "clinica.servico";
+
+    private static final String NOME_ENTITY_MANAGER_FACTORY = "entityManagerFactory";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // Estatísticas do Hibernate (sessões, cache, flushes) e tempo por HQL; exigem hibernate.generate_statistics
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        return registry -> {
+            new HibernateMetrics(sessionFactory, NOME_ENTITY_MANAGER_FACTORY, Tags.empty()).bindTo(registry);
+            new HibernateQueryMetrics(sessionFactory, NOME_ENTITY_MANAGER_FACTORY, Tags.empty()).bindTo(registry);
+        };
+    }
+}
\ No newline at end of file
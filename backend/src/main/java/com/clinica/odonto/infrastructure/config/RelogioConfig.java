@@ -0,0 +1,24 @@
+package com.clinica.odonto.infrastructure.config;
+
+import com.clinica.odonto.domain.entity.RelogioClinica;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+@Configuration
+public class RelogioConfig {
+
+    // Único relógio da aplicação: carimbos das entidades, movimentações e janelas de "hoje"/"mês atual"
+    // usam o mesmo fuso, senão um CLINICA_ZONE_ID diferente do fuso da JVM desloca as métricas
+    @Bean
+    public Clock relogioClinica(@Value("${app.clinica.zone-id:}") String zoneId) {
+        ZoneId zona = StringUtils.hasText(zoneId) ? ZoneId.of(zoneId) : ZoneId.systemDefault();
+        Clock relogio = Clock.system(zona);
+        RelogioClinica.definir(relogio);
+        return relogio;
+    }
+}
\ No newline at end of file
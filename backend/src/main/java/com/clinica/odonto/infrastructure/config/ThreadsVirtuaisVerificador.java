@@ -0,0 +1,29 @@
+package com.clinica.odonto.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// O Spring Boot ignora spring.threads.virtual.enabled em JVMs anteriores à 21 sem avisar
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisVerificador {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadsVirtuaisVerificador.class);
+
+    private static final int VERSAO_MINIMA_JAVA = 21;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        int versao = Runtime.version().feature();
+        if (versao < VERSAO_MINIMA_JAVA) {
+            log.warn("Perfil virtual-threads ativo em Java {}: as requisições continuam no pool de threads "
+                    + "da plataforma. Use Java {} ou superior.", versao, VERSAO_MINIMA_JAVA);
+        } else {
+            log.info("Requisições e tarefas assíncronas executando em virtual threads");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.clinica.odonto.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Quantidade de linhas devolvidas (ou alteradas, em @Modifying) por cada @Query dos repositórios.
+// O tempo de cada método já é medido pelo Actuator em spring.data.repository.invocations.
+@Aspect
+@Component
+public class LinhasConsultaAspect {
+
+    private static final String METRICA = "clinica.repositorio.linhas";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final Map<Method, DistributionSummary> resumos = new ConcurrentHashMap<>();
+
+    @AfterReturning(pointcut = "execution(* com.clinica.odonto.domain.repository..*(..)) && @annotation(query)",
+            returning = "resultado", argNames = "joinPoint,query,resultado")
+    public void registrar(JoinPoint joinPoint, Query query, Object resultado) {
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Long linhas = contarLinhas(metodo, resultado);
+        if (linhas != null) {
+            resumos.computeIfAbsent(metodo, this::criarResumo).record(linhas);
+        }
+    }
+
+    private DistributionSummary criarResumo(Method metodo) {
+        return DistributionSummary.builder(METRICA)
+                .baseUnit("linhas")
+                .tag("repository", metodo.getDeclaringClass().getSimpleName())
+                .tag("method", metodo.getName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Long contarLinhas(Method metodo, Object resultado) {
+        if (resultado == null) {
+            return 0L;
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return (long) colecao.size();
+        }
+        if (resultado instanceof Slice<?> pagina) {
+            return (long) pagina.getNumberOfElements();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1L : 0L;
+        }
+        if (resultado instanceof Stream<?>) {
+            // Consumido depois pelo chamador (exportações); não dá para contar sem materializar
+            return null;
+        }
+        if (resultado instanceof Number numero && metodo.isAnnotationPresent(Modifying.class)) {
+            return numero.longValue();
+        }
+        return 1L;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.clinica.odonto.infrastructure.migracao;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Índices de trigramas para as buscas por trecho do nome (LIKE '%termo%' e LOWER(...) LIKE).
+// CREATE EXTENSION pg_trgm exige um papel com privilégio no banco; se o papel da aplicação não puder
+// instalá-la e ela ainda não existir, a migration só registra o aviso e as buscas seguem sem esses
+// índices. Depois de um DBA executar CREATE EXTENSION pg_trgm, os índices podem ser criados com os
+// comandos abaixo (IF NOT EXISTS), sem nova versão.
+@Component
+public class V2_1__IndicesTrigramas extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V2_1__IndicesTrigramas.class);
+
+    private static final List<String> INDICES = List.of(
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pacientes_nome_trgm ON pacientes USING gin (nome gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_usuarios_nome_trgm ON usuarios USING gin (nome gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materiais_nome_lower_trgm ON materiais USING gin (lower(nome) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materiais_codigo_lower_trgm ON materiais USING gin (lower(codigo) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materiais_categoria_lower_trgm ON materiais USING gin (lower(categoria) gin_trgm_ops)");
+
+    // CONCURRENTLY não pode rodar dentro de transação
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        if (!extensaoDisponivel(conexao)) {
+            log.warn("Extensão pg_trgm indisponível para o papel da aplicação; índices de trigramas não criados. "
+                    + "Execute CREATE EXTENSION pg_trgm com um papel privilegiado e depois os comandos de {}",
+                    V2_1__IndicesTrigramas.class.getSimpleName());
+            return;
+        }
+        try (Statement statement = conexao.createStatement()) {
+            for (String indice : INDICES) {
+                statement.execute(indice);
+            }
+        }
+    }
+
+    private boolean extensaoDisponivel(Connection conexao) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            try (ResultSet resultado = statement.executeQuery("SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm'")) {
+                if (resultado.next()) {
+                    return true;
+                }
+            }
+            try {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                return true;
+            } catch (SQLException e) {
+                log.debug("Falha ao instalar pg_trgm: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.clinica.odonto.infrastructure.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,8 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,10 +18,17 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenAutenticacaoCache tokenCache;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private VersaoTokenRegistry versaoTokenRegistry;
+
+    // SSE e exportações terminam em um dispatch assíncrono que volta a passar pela autorização;
+    // sem isso o contexto chega vazio e a resposta já enviada termina em AccessDenied
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -30,37 +36,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        UsuarioAutenticado usuario = null;
 
         // JWT Token está no formato "Bearer token". Remove Bearer word e pega apenas o Token
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (Exception e) {
-                logger.error("Não foi possível obter o username do JWT Token", e);
+                // Assinatura e expiração verificadas uma vez por token; depois vem do cache até o "exp"
+                usuario = tokenCache.resolver(jwtToken);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("JWT Token inválido: " + e.getMessage());
             }
         }
 
-        // Uma vez que temos o token, validamos ele
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Tokens revogados (senha, tipo ou status alterados) têm versão anterior à registrada
+        if (usuario != null && versaoTokenRegistry.aceita(usuario)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            // Se o token é válido, configura o Spring Security para definir manualmente a autenticação
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
-
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                // Após definir a Authentication no contexto, especificamos
-                // que o usuário atual está autenticado. Então ele passa as
-                // configurações de segurança do Spring com sucesso.
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                    new UsernamePasswordAuthenticationToken(usuario, null, usuario.authorities());
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Após definir a Authentication no contexto, especificamos
+            // que o usuário atual está autenticado. Então ele passa as
+            // configurações de segurança do Spring com sucesso.
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
         chain.doFilter(request, response);
     }
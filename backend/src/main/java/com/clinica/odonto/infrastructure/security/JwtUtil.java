@@ -1,9 +1,11 @@
 package com.clinica.odonto.infrastructure.security;
 
+import com.clinica.odonto.domain.entity.TipoUsuario;
+import com.clinica.odonto.domain.entity.Usuario;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -15,44 +17,65 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    private static final String CLAIM_USUARIO_ID = "uid";
+    private static final String CLAIM_TIPO = "tipo";
+    private static final String CLAIM_VERSAO = "ver";
+
     @Value("${app.jwt.secret}")
     private String secret;
 
     @Value("${app.jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Chave e parser são imutáveis e thread-safe: montados uma única vez e reutilizados em toda requisição
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = validarEExtrairClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Uma única passada: verifica assinatura e expiração e devolve todas as claims
+    public Claims validarEExtrairClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(Usuario usuario) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USUARIO_ID, usuario.getId());
+        claims.put(CLAIM_TIPO, usuario.getTipo().name());
+        claims.put(CLAIM_VERSAO, usuario.getVersaoToken());
+        return createToken(claims, usuario.getUsername());
     }
 
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    // Verifica assinatura e expiração e monta o principal sem consultar o banco
+    public UsuarioAutenticado extrairUsuario(String token) {
+        return extrairUsuario(validarEExtrairClaims(token));
+    }
+
+    public UsuarioAutenticado extrairUsuario(Claims claims) {
+        Long usuarioId = claims.get(CLAIM_USUARIO_ID, Long.class);
+        String tipo = claims.get(CLAIM_TIPO, String.class);
+        Integer versao = claims.get(CLAIM_VERSAO, Integer.class);
+
+        if (usuarioId == null || tipo == null || versao == null) {
+            throw new MalformedJwtException("Token sem as claims do usuário");
+        }
+        return new UsuarioAutenticado(usuarioId, claims.getSubject(), TipoUsuario.valueOf(tipo), versao);
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -61,24 +84,7 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
-    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.clinica.odonto.infrastructure.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -53,6 +55,18 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Actuator só é servido na porta de gerenciamento (management.server.port), que é interna
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authz -> authz.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -62,7 +76,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
-                        .requestMatchers("/api/dashboard/metrics").hasAnyAuthority("ROLE_ADMIN", "ROLE_DENTISTA", "ROLE_RECEPCIONISTA")
+                        .requestMatchers("/api/dashboard/metrics", "/api/dashboard/metrics/stream").hasAnyAuthority("ROLE_ADMIN", "ROLE_DENTISTA", "ROLE_RECEPCIONISTA")
                         .requestMatchers("/api/pacientes/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_DENTISTA", "ROLE_RECEPCIONISTA")
                         .requestMatchers("/api/dentistas/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_DENTISTA")
                         .requestMatchers("/api/consultas/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_DENTISTA", "ROLE_RECEPCIONISTA")
@@ -0,0 +1,124 @@
+package com.clinica.odonto.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenAutenticacaoCache implements MeterBinder {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final Cache<String, TokenVerificado> tokens;
+
+    // Chaves em cache de cada usuário, para revogar só as dele sem percorrer o cache inteiro. Os conjuntos só
+    // são alterados dentro do compute do mapa; a entrada sai daqui quando expira ou é descartada pelo tamanho.
+    private final Map<Long, Set<String>> chavesPorUsuario = new ConcurrentHashMap<>();
+
+    public TokenAutenticacaoCache(@Value("${app.jwt.cache.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraNoExp())
+                .evictionListener((String chave, TokenVerificado token, RemovalCause causa) -> desindexar(token, chave))
+                .recordStats()
+                .build();
+    }
+
+    // Na primeira vez verifica assinatura e expiração; depois reaproveita o resultado até o "exp" do token.
+    // Tokens inválidos lançam JwtException e não entram no cache.
+    public UsuarioAutenticado resolver(String token) {
+        return tokens.get(hash(token), chave -> indexar(chave, verificar(token))).usuario();
+    }
+
+    public void invalidarUsuario(Long usuarioId) {
+        Set<String> chaves = chavesPorUsuario.remove(usuarioId);
+        if (chaves != null) {
+            tokens.invalidateAll(chaves);
+        }
+    }
+
+    public CacheStats estatisticas() {
+        return tokens.stats();
+    }
+
+    public long tamanhoEstimado() {
+        return tokens.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokens, "tokens-jwt");
+    }
+
+    private TokenVerificado indexar(String chave, TokenVerificado token) {
+        chavesPorUsuario.compute(token.usuario().id(), (id, chaves) -> {
+            Set<String> doUsuario = chaves != null ? chaves : new HashSet<>();
+            doUsuario.add(chave);
+            return doUsuario;
+        });
+        return token;
+    }
+
+    private void desindexar(TokenVerificado token, String chave) {
+        chavesPorUsuario.computeIfPresent(token.usuario().id(), (id, chaves) -> {
+            chaves.remove(chave);
+            return chaves.isEmpty() ? null : chaves;
+        });
+    }
+
+    private TokenVerificado verificar(String token) {
+        Claims claims = jwtUtil.validarEExtrairClaims(token);
+        return new TokenVerificado(jwtUtil.extrairUsuario(claims), claims.getExpiration().toInstant());
+    }
+
+    // A chave é o SHA-256 do token, para não manter o bearer em claro na memória
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record TokenVerificado(UsuarioAutenticado usuario, Instant expiracao) {}
+
+    private static final class ExpiraNoExp implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenVerificado token, long tempoAtual) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenVerificado token, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenVerificado token, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
\ No newline at end of file
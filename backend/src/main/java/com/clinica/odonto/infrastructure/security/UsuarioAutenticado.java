@@ -0,0 +1,21 @@
+package com.clinica.odonto.infrastructure.security;
+
+import com.clinica.odonto.domain.entity.TipoUsuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+// Principal montado apenas a partir das claims já verificadas do JWT
+public record UsuarioAutenticado(Long id, String email, TipoUsuario tipo, Integer versaoToken) implements Principal {
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + tipo.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
\ No newline at end of file
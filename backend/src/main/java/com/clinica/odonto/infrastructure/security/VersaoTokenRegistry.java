@@ -0,0 +1,82 @@
+package com.clinica.odonto.infrastructure.security;
+
+import com.clinica.odonto.domain.entity.Usuario;
+import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.domain.repository.VersaoTokenProjection;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class VersaoTokenRegistry {
+
+    // Usuário excluído: nenhum token emitido para ele volta a ser aceito
+    private static final int VERSAO_EXCLUIDO = Integer.MAX_VALUE;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokenAutenticacaoCache tokenCache;
+
+    // Versão mínima aceita por usuário; ausente significa versão inicial (0)
+    private final Map<Long, Integer> versoesMinimas = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void carregar() {
+        for (VersaoTokenProjection versao : usuarioRepository.findVersoesTokenRevogadas()) {
+            versoesMinimas.merge(versao.getId(), versao.getVersaoToken(), Math::max);
+        }
+    }
+
+    // Usuário alterado em outra instância: relê a versão do banco; ausente significa excluído
+    public void sincronizar(Long usuarioId) {
+        int versao = usuarioRepository.findVersaoTokenById(usuarioId).orElse(VERSAO_EXCLUIDO);
+        if (versao > versoesMinimas.getOrDefault(usuarioId, 0)) {
+            versoesMinimas.merge(usuarioId, versao, Math::max);
+            tokenCache.invalidarUsuario(usuarioId);
+        }
+    }
+
+    public boolean aceita(UsuarioAutenticado usuario) {
+        return usuario.versaoToken() >= versoesMinimas.getOrDefault(usuario.id(), 0);
+    }
+
+    // Invalida os tokens já emitidos; deve ser chamado antes de salvar o usuário
+    public void revogar(Usuario usuario) {
+        int novaVersao = usuario.getVersaoToken() + 1;
+        usuario.setVersaoToken(novaVersao);
+
+        Long usuarioId = usuario.getId();
+        executarAposCommit(() -> {
+            versoesMinimas.merge(usuarioId, novaVersao, Math::max);
+            tokenCache.invalidarUsuario(usuarioId);
+        });
+    }
+
+    public void revogarExcluido(Long usuarioId) {
+        executarAposCommit(() -> {
+            versoesMinimas.put(usuarioId, VERSAO_EXCLUIDO);
+            tokenCache.invalidarUsuario(usuarioId);
+        });
+    }
+
+    private void executarAposCommit(Runnable acao) {
+        // Um rollback mantém os tokens válidos, como o registro no banco
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.clinica.odonto.infrastructure.web;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Escreve as exportações no formato pedido à medida que o Stream é consumido, sem montar a lista
+// inteira em memória. No CSV as colunas seguem as propriedades do tipo exportado, com cabeçalho.
+@Component
+public class ExportacaoWriter {
+
+    @Autowired
+    private NdjsonWriter ndjsonWriter;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // O stream da resposta pertence ao servlet
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public <T> long escrever(Stream<T> registros, Class<T> tipo, FormatoExportacao formato, OutputStream saida) {
+        return formato == FormatoExportacao.CSV
+                ? escreverCsv(registros, tipo, saida)
+                : ndjsonWriter.escrever(registros, saida);
+    }
+
+    private <T> long escreverCsv(Stream<T> registros, Class<T> tipo, OutputStream saida) {
+        long quantidade = 0;
+        try (SequenceWriter writer = csvMapper.writer(csvMapper.schemaFor(tipo).withHeader()).writeValues(saida)) {
+            Iterator<T> iterator = registros.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                quantidade++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever exportação", e);
+        }
+        return quantidade;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.clinica.odonto.infrastructure.web;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum FormatoExportacao {
+
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private final String extensao;
+    private final MediaType tipoConteudo;
+
+    FormatoExportacao(String extensao, MediaType tipoConteudo) {
+        this.extensao = extensao;
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public static FormatoExportacao de(String formato) {
+        return valueOf(formato.toUpperCase(Locale.ROOT));
+    }
+
+    public ResponseEntity<StreamingResponseBody> resposta(String nomeArquivo, StreamingResponseBody corpo) {
+        return ResponseEntity.ok()
+                .contentType(tipoConteudo)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(nomeArquivo + "." + extensao).build().toString())
+                .body(corpo);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.clinica.odonto.infrastructure.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.log-requisicoes")
+public class LogRequisicoesProperties {
+
+    private boolean habilitado = true;
+
+    // Fração das requisições registradas (0.0 a 1.0) quando a rota não tem taxa própria
+    private double amostragem = 1.0;
+
+    // Requisições mais lentas que o limite ou com erro 5xx são sempre registradas
+    private long limiteLentoMs = 1000;
+
+    // Taxa por rota, com padrões no formato do AntPathMatcher (ex.: /api/dashboard/**)
+    private Map<String, Double> rotas = new LinkedHashMap<>();
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public double getAmostragem() {
+        return amostragem;
+    }
+
+    public void setAmostragem(double amostragem) {
+        this.amostragem = amostragem;
+    }
+
+    public long getLimiteLentoMs() {
+        return limiteLentoMs;
+    }
+
+    public void setLimiteLentoMs(long limiteLentoMs) {
+        this.limiteLentoMs = limiteLentoMs;
+    }
+
+    public Map<String, Double> getRotas() {
+        return rotas;
+    }
+
+    public void setRotas(Map<String, Double> rotas) {
+        this.rotas = rotas;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.clinica.odonto.infrastructure.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Escreve um registro JSON por linha (NDJSON) à medida que o Stream é consumido,
+// sem montar a lista inteira em memória
+@Component
+public class NdjsonWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public long escrever(Stream<?> registros, OutputStream saida) {
+        ObjectWriter writer = objectMapper.writer();
+        long quantidade = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(saida)) {
+            // O stream da resposta pertence ao servlet; aqui só liberamos o gerador
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<?> iterator = registros.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                quantidade++;
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever exportação", e);
+        }
+        return quantidade;
+    }
+}
\ No newline at end of file
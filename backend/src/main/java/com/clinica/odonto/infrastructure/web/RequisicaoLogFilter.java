@@ -0,0 +1,125 @@
+package com.clinica.odonto.infrastructure.web;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Registra método, rota, status e latência de cada requisição amostrada. A escrita em si é feita
+// pelo appender assíncrono do logback-spring.xml; aqui não há lock nem I/O na thread da requisição.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequisicaoLogFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequisicaoLogFilter.class);
+
+    private static final String SEM_ROTA = "(sem rota)";
+
+    @Autowired
+    private LogRequisicoesProperties properties;
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    // Taxa já resolvida por rota; as rotas são os templates dos controllers, um conjunto fechado
+    private final Map<String, Double> taxasPorRota = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isHabilitado();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            // O container só troca o status para 500 depois que o filtro devolve a exceção
+            registrar(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, inicio);
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            // SSE e exportações: o status e a duração só são conhecidos quando a resposta termina
+            request.getAsyncContext().addListener(new RegistroAoConcluir(inicio));
+        } else {
+            registrar(request, response.getStatus(), inicio);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, int status, long inicio) {
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        String rota = rota(request);
+
+        if (status >= 500 || duracaoMs >= properties.getLimiteLentoMs()) {
+            log.warn("metodo={} rota={} status={} duracaoMs={}", request.getMethod(), rota, status, duracaoMs);
+        } else if (log.isInfoEnabled() && amostrar(rota)) {
+            log.info("metodo={} rota={} status={} duracaoMs={}", request.getMethod(), rota, status, duracaoMs);
+        }
+    }
+
+    private String rota(HttpServletRequest request) {
+        // Template do controller (ex.: /api/consultas/{id}); ausente quando a requisição não chegou a um handler
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : SEM_ROTA;
+    }
+
+    private boolean amostrar(String rota) {
+        double taxa = taxasPorRota.computeIfAbsent(rota, this::resolverTaxa);
+        return taxa >= 1.0 || (taxa > 0.0 && ThreadLocalRandom.current().nextDouble() < taxa);
+    }
+
+    private double resolverTaxa(String rota) {
+        for (Map.Entry<String, Double> entrada : properties.getRotas().entrySet()) {
+            if (matcher.match(entrada.getKey(), rota)) {
+                return entrada.getValue();
+            }
+        }
+        return properties.getAmostragem();
+    }
+
+    private final class RegistroAoConcluir implements AsyncListener {
+
+        private final long inicio;
+
+        private RegistroAoConcluir(long inicio) {
+            this.inicio = inicio;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            registrar((HttpServletRequest) evento.getSuppliedRequest(),
+                    ((HttpServletResponse) evento.getSuppliedResponse()).getStatus(), inicio);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.clinica.odonto.infrastructure.web;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Mantém os clientes inscritos em um fluxo Server-Sent Events e distribui os eventos
+// fora da thread que os produziu, para que clientes lentos não atrasem as gravações.
+// Cada cliente tem a própria fila, esvaziada por uma tarefa de cada vez: os eventos chegam na ordem em que foram enviados.
+public class SseBroadcaster {
+
+    private final List<Inscricao> inscricoes = new CopyOnWriteArrayList<>();
+
+    private final Executor executor;
+
+    private final long timeoutMillis;
+
+    public SseBroadcaster(Executor executor, long timeoutMillis) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // O cliente é registrado antes de o estado inicial ser montado: nenhum evento posterior ao estado se perde,
+    // e os que o antecedem chegam antes dele e são substituídos por ele
+    public SseEmitter inscrever(String nomeEventoInicial, Supplier<?> dadosIniciais) {
+        SseEmitter emissor = new SseEmitter(timeoutMillis);
+        Inscricao inscricao = new Inscricao(emissor);
+        emissor.onCompletion(() -> inscricoes.remove(inscricao));
+        emissor.onTimeout(() -> inscricoes.remove(inscricao));
+        emissor.onError(erro -> inscricoes.remove(inscricao));
+
+        inscricoes.add(inscricao);
+        inscricao.enfileirar(SseEmitter.event().name(nomeEventoInicial).data(dadosIniciais.get()));
+        return emissor;
+    }
+
+    public void enviar(String nomeEvento, Object dados) {
+        for (Inscricao inscricao : inscricoes) {
+            inscricao.enfileirar(SseEmitter.event().name(nomeEvento).data(dados));
+        }
+    }
+
+    public int getQuantidadeInscritos() {
+        return inscricoes.size();
+    }
+
+    private final class Inscricao {
+
+        private final SseEmitter emissor;
+
+        private final Queue<SseEmitter.SseEventBuilder> pendentes = new ConcurrentLinkedQueue<>();
+
+        // Eventos enfileirados e ainda não enviados; quem leva de 0 para 1 agenda a tarefa de envio
+        private final AtomicInteger aEnviar = new AtomicInteger();
+
+        private Inscricao(SseEmitter emissor) {
+            this.emissor = emissor;
+        }
+
+        private void enfileirar(SseEmitter.SseEventBuilder evento) {
+            pendentes.add(evento);
+            if (aEnviar.getAndIncrement() == 0) {
+                executor.execute(this::esvaziar);
+            }
+        }
+
+        private void esvaziar() {
+            do {
+                SseEmitter.SseEventBuilder evento = pendentes.poll();
+                if (evento != null && inscricoes.contains(this)) {
+                    try {
+                        emissor.send(evento);
+                    } catch (IOException | IllegalStateException e) {
+                        inscricoes.remove(this);
+                        emissor.completeWithError(e);
+                    }
+                }
+            } while (aEnviar.decrementAndGet() > 0);
+        }
+    }
+}
\ No newline at end of file
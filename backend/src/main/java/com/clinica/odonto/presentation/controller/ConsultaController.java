@@ -2,8 +2,10 @@ package com.clinica.odonto.presentation.controller;
 
 import com.clinica.odonto.application.dto.ConsultaRequest;
 import com.clinica.odonto.application.dto.ConsultaResponse;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
 import com.clinica.odonto.application.service.ConsultaService;
 import com.clinica.odonto.domain.entity.StatusConsulta;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -62,6 +65,34 @@ public class ConsultaController {
         }
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DENTISTA', 'RECEPCIONISTA')")
+    public ResponseEntity<PaginaCursorResponse<ConsultaResponse>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            PaginaCursorResponse<ConsultaResponse> consultas = consultaService.listarPorCursor(cursor, tamanho);
+            return ResponseEntity.ok(consultas);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/exportar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DENTISTA', 'RECEPCIONISTA')")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        try {
+            FormatoExportacao tipo = FormatoExportacao.de(formato);
+            // Cada registro é escrito assim que lido do banco; o uso de memória não cresce com o histórico
+            StreamingResponseBody corpo = saida -> consultaService.exportar(saida, tipo);
+            return tipo.resposta("consultas", corpo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DENTISTA', 'RECEPCIONISTA')")
     public ResponseEntity<ConsultaResponse> buscarPorId(@PathVariable Long id) {
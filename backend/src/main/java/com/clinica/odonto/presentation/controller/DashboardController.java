@@ -3,9 +3,11 @@ package com.clinica.odonto.presentation.controller;
 import com.clinica.odonto.application.dto.DashboardMetricsResponse;
 import com.clinica.odonto.application.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -25,4 +27,11 @@ public class DashboardController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping(value = "/metrics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'DENTISTA', 'RECEPCIONISTA')")
+    public SseEmitter acompanharMetricas() {
+        // Envia as métricas atuais e, em seguida, apenas as variações de cada gravação
+        return dashboardService.inscreverMetricas();
+    }
 }
\ No newline at end of file
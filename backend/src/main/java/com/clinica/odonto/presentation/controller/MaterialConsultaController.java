@@ -1,8 +1,12 @@
 package com.clinica.odonto.presentation.controller;
 
+import com.clinica.odonto.application.dto.MaterialConsultaLoteRequest;
 import com.clinica.odonto.application.dto.MaterialConsultaRequest;
 import com.clinica.odonto.application.dto.MaterialConsultaResponse;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
 import com.clinica.odonto.application.service.MaterialConsultaService;
+import com.clinica.odonto.infrastructure.security.UsuarioAutenticado;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,7 +41,7 @@ public class MaterialConsultaController {
         try {
             // Obter ID do usuário logado
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long usuarioId = Long.parseLong(authentication.getName());
+            Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
             
             MaterialConsultaResponse response = materialConsultaService.registrarMaterialConsulta(request, usuarioId);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -45,6 +50,22 @@ public class MaterialConsultaController {
         }
     }
 
+    // Materiais de uma consulta inteira em uma única chamada, tudo ou nada
+    @PostMapping("/lote")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_RECEPCIONISTA')")
+    public ResponseEntity<List<MaterialConsultaResponse>> registrarMateriaisConsulta(
+            @Valid @RequestBody MaterialConsultaLoteRequest request) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
+
+            List<MaterialConsultaResponse> response = materialConsultaService.registrarMateriaisConsulta(request.getItens(), usuarioId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
     public ResponseEntity<List<MaterialConsultaResponse>> listarTodos() {
@@ -67,6 +88,34 @@ public class MaterialConsultaController {
         }
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
+    public ResponseEntity<PaginaCursorResponse<MaterialConsultaResponse>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            PaginaCursorResponse<MaterialConsultaResponse> materiais = materialConsultaService.listarPorCursor(cursor, tamanho);
+            return ResponseEntity.ok(materiais);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/exportar")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        try {
+            FormatoExportacao tipo = FormatoExportacao.de(formato);
+            // Cada registro é escrito assim que lido do banco; o uso de memória não cresce com o histórico
+            StreamingResponseBody corpo = saida -> materialConsultaService.exportar(saida, tipo);
+            return tipo.resposta("materiais-consulta", corpo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
     public ResponseEntity<MaterialConsultaResponse> buscarPorId(@PathVariable Long id) {
@@ -173,7 +222,7 @@ public class MaterialConsultaController {
         try {
             // Obter ID do usuário logado
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long usuarioId = Long.parseLong(authentication.getName());
+            Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
             
             MaterialConsultaResponse response = materialConsultaService.atualizarQuantidade(id, novaQuantidade, usuarioId);
             return ResponseEntity.ok(response);
@@ -188,7 +237,7 @@ public class MaterialConsultaController {
         try {
             // Obter ID do usuário logado
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long usuarioId = Long.parseLong(authentication.getName());
+            Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
             
             materialConsultaService.removerMaterialConsulta(id, usuarioId);
             return ResponseEntity.ok().build();
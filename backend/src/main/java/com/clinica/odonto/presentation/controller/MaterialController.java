@@ -3,14 +3,19 @@ package com.clinica.odonto.presentation.controller;
 import com.clinica.odonto.application.dto.MaterialRequest;
 import com.clinica.odonto.application.dto.MaterialResponse;
 import com.clinica.odonto.application.service.MaterialService;
+import com.clinica.odonto.infrastructure.security.UsuarioAutenticado;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -114,6 +119,13 @@ public class MaterialController {
         }
     }
 
+    @GetMapping(value = "/estoque-baixo/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_RECEPCIONISTA')")
+    public SseEmitter acompanharEstoqueBaixo() {
+        // Envia a lista atual de materiais com estoque baixo e, em seguida, um alerta a cada cruzamento do estoque mínimo
+        return materialService.inscreverAlertasEstoqueBaixo();
+    }
+
     @GetMapping("/categorias")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
     public ResponseEntity<List<String>> listarCategorias() {
@@ -155,7 +167,10 @@ public class MaterialController {
             @PathVariable Long id, 
             @RequestParam BigDecimal novoEstoque) {
         try {
-            materialService.atualizarEstoque(id, novoEstoque);
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
+
+            materialService.atualizarEstoque(id, novoEstoque, usuarioId);
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
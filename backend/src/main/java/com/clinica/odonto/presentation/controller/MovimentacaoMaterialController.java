@@ -2,8 +2,11 @@ package com.clinica.odonto.presentation.controller;
 
 import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
 import com.clinica.odonto.application.dto.MovimentacaoMaterialResponse;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
 import com.clinica.odonto.application.service.MovimentacaoMaterialService;
 import com.clinica.odonto.domain.entity.TipoMovimentacao;
+import com.clinica.odonto.infrastructure.security.UsuarioAutenticado;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -15,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -36,7 +40,7 @@ public class MovimentacaoMaterialController {
         try {
             // Obter ID do usuário logado
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long usuarioId = Long.parseLong(authentication.getName());
+            Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
             
             MovimentacaoMaterialResponse response = movimentacaoMaterialService.registrarMovimentacao(request, usuarioId);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -67,6 +71,34 @@ public class MovimentacaoMaterialController {
         }
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
+    public ResponseEntity<PaginaCursorResponse<MovimentacaoMaterialResponse>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            PaginaCursorResponse<MovimentacaoMaterialResponse> movimentacoes = movimentacaoMaterialService.listarPorCursor(cursor, tamanho);
+            return ResponseEntity.ok(movimentacoes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/exportar")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        try {
+            FormatoExportacao tipo = FormatoExportacao.de(formato);
+            // Cada registro é escrito assim que lido do banco; o uso de memória não cresce com o histórico
+            StreamingResponseBody corpo = saida -> movimentacaoMaterialService.exportar(saida, tipo);
+            return tipo.resposta("movimentacoes-material", corpo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_DENTISTA', 'ROLE_RECEPCIONISTA')")
     public ResponseEntity<MovimentacaoMaterialResponse> buscarPorId(@PathVariable Long id) {
@@ -0,0 +1,135 @@
+-- Esquema inicial da aplicação (equivalente ao gerado pelo Hibernate até esta versão).
+-- Bancos já existentes são marcados nesta versão pelo baseline do Flyway e seguem a partir da V2.
+
+CREATE TABLE consultas (
+    valor numeric(10,2),
+    data_atualizacao timestamp(6),
+    data_criacao timestamp(6) not null,
+    data_hora timestamp(6) not null,
+    dentista_id bigint not null,
+    id bigserial not null,
+    paciente_id bigint not null,
+    procedimento varchar(200),
+    observacoes TEXT,
+    status varchar(255) not null check (status in ('AGENDADA','CONFIRMADA','EM_ANDAMENTO','CONCLUIDA','CANCELADA','FALTOU')),
+    primary key (id)
+);
+
+CREATE TABLE dentista_plano_saude (
+    dentista_id bigint not null,
+    plano_saude_id bigint not null
+);
+
+CREATE TABLE dentistas (
+    ativo boolean not null,
+    data_atualizacao timestamp(6),
+    data_cadastro timestamp(6) not null,
+    id bigserial not null,
+    usuario_id bigint not null unique,
+    telefone varchar(15),
+    cro varchar(20) not null unique,
+    especialidade varchar(100),
+    primary key (id)
+);
+
+CREATE TABLE materiais (
+    ativo boolean not null,
+    estoque_atual numeric(10,2) not null,
+    estoque_minimo numeric(10,2) not null,
+    preco_unitario numeric(10,2) not null,
+    data_atualizacao timestamp(6),
+    data_cadastro timestamp(6) not null,
+    id bigserial not null,
+    unidade_medida varchar(10) not null,
+    codigo varchar(20) not null unique,
+    categoria varchar(50) not null,
+    nome varchar(100) not null,
+    descricao TEXT,
+    primary key (id)
+);
+
+CREATE TABLE material_consulta (
+    preco_unitario numeric(10,2) not null,
+    quantidade_utilizada numeric(10,2) not null,
+    valor_total numeric(10,2) not null,
+    consulta_id bigint not null,
+    data_utilizacao timestamp(6) not null,
+    id bigserial not null,
+    material_id bigint not null,
+    usuario_lancamento_id bigint,
+    primary key (id)
+);
+
+CREATE TABLE movimentacoes_material (
+    estoque_anterior numeric(10,2),
+    estoque_atual numeric(10,2),
+    quantidade numeric(10,2) not null,
+    consulta_id bigint,
+    data_movimentacao timestamp(6) not null,
+    id bigserial not null,
+    material_id bigint not null,
+    usuario_id bigint,
+    observacoes TEXT,
+    tipo_movimentacao varchar(255) not null check (tipo_movimentacao in ('ENTRADA','SAIDA','AJUSTE_POSITIVO','AJUSTE_NEGATIVO','USO_CONSULTA','PERDA','VENCIMENTO')),
+    primary key (id)
+);
+
+CREATE TABLE pacientes (
+    ativo boolean not null,
+    data_nascimento date not null,
+    uf varchar(2),
+    data_atualizacao timestamp(6),
+    data_cadastro timestamp(6) not null,
+    id bigserial not null,
+    plano_saude_id bigint,
+    cep varchar(9),
+    numero varchar(10),
+    cpf varchar(14) not null unique,
+    celular varchar(15),
+    telefone varchar(15),
+    bairro varchar(100),
+    cidade varchar(100),
+    complemento varchar(100),
+    nome varchar(100) not null,
+    email varchar(150),
+    logradouro varchar(200),
+    observacoes TEXT,
+    sexo varchar(255) not null check (sexo in ('MASCULINO','FEMININO','OUTRO')),
+    primary key (id)
+);
+
+CREATE TABLE planos_saude (
+    ativo boolean not null,
+    data_atualizacao timestamp(6),
+    data_criacao timestamp(6) not null,
+    id bigserial not null,
+    codigo_ans varchar(20),
+    nome varchar(100) not null,
+    descricao varchar(500),
+    primary key (id)
+);
+
+CREATE TABLE usuarios (
+    ativo boolean not null,
+    data_atualizacao timestamp(6),
+    data_criacao timestamp(6) not null,
+    id bigserial not null,
+    nome varchar(100) not null,
+    email varchar(150) not null unique,
+    senha varchar(255) not null,
+    tipo varchar(255) not null check (tipo in ('ADMIN','DENTISTA','RECEPCIONISTA','ASSISTENTE')),
+    primary key (id)
+);
+
+ALTER TABLE consultas ADD CONSTRAINT fk_consultas_dentista_id FOREIGN KEY (dentista_id) REFERENCES dentistas;
+ALTER TABLE consultas ADD CONSTRAINT fk_consultas_paciente_id FOREIGN KEY (paciente_id) REFERENCES pacientes;
+ALTER TABLE dentista_plano_saude ADD CONSTRAINT fk_dentista_plano_saude_plano_saude_id FOREIGN KEY (plano_saude_id) REFERENCES planos_saude;
+ALTER TABLE dentista_plano_saude ADD CONSTRAINT fk_dentista_plano_saude_dentista_id FOREIGN KEY (dentista_id) REFERENCES dentistas;
+ALTER TABLE dentistas ADD CONSTRAINT fk_dentistas_usuario_id FOREIGN KEY (usuario_id) REFERENCES usuarios;
+ALTER TABLE material_consulta ADD CONSTRAINT fk_material_consulta_consulta_id FOREIGN KEY (consulta_id) REFERENCES consultas;
+ALTER TABLE material_consulta ADD CONSTRAINT fk_material_consulta_material_id FOREIGN KEY (material_id) REFERENCES materiais;
+ALTER TABLE material_consulta ADD CONSTRAINT fk_material_consulta_usuario_lancamento_id FOREIGN KEY (usuario_lancamento_id) REFERENCES usuarios;
+ALTER TABLE movimentacoes_material ADD CONSTRAINT fk_movimentacoes_material_consulta_id FOREIGN KEY (consulta_id) REFERENCES consultas;
+ALTER TABLE movimentacoes_material ADD CONSTRAINT fk_movimentacoes_material_material_id FOREIGN KEY (material_id) REFERENCES materiais;
+ALTER TABLE movimentacoes_material ADD CONSTRAINT fk_movimentacoes_material_usuario_id FOREIGN KEY (usuario_id) REFERENCES usuarios;
+ALTER TABLE pacientes ADD CONSTRAINT fk_pacientes_plano_saude_id FOREIGN KEY (plano_saude_id) REFERENCES planos_saude;
\ No newline at end of file
@@ -0,0 +1,25 @@
+-- Índices das consultas mais frequentes. IF NOT EXISTS permite aplicar sobre bancos criados pelo Hibernate.
+-- CONCURRENTLY não bloqueia as gravações nas tabelas em uso; por isso a migration roda fora de transação
+-- (V2__indices_consultas_frequentes.sql.conf) e exige spring.flyway.postgresql.transactional-lock=false
+-- (application.yml). Os índices de trigramas ficam na V2_1 (IndicesTrigramas).
+
+-- Agenda e dashboard: filtros por intervalo [início, fim) em data_hora
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_consultas_data_hora ON consultas (data_hora);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_consultas_dentista_data_hora ON consultas (dentista_id, data_hora);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_consultas_paciente_data_hora ON consultas (paciente_id, data_hora);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_consultas_status_data_hora ON consultas (status, data_hora);
+
+-- Materiais utilizados e movimentações de estoque
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_material_consulta_data_utilizacao ON material_consulta (data_utilizacao);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_material_consulta_material_data ON material_consulta (material_id, data_utilizacao);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_material_consulta_consulta ON material_consulta (consulta_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movimentacoes_data ON movimentacoes_material (data_movimentacao);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movimentacoes_material_data ON movimentacoes_material (material_id, data_movimentacao);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movimentacoes_consulta ON movimentacoes_material (consulta_id);
+
+-- Listagens de cadastros ativos ordenadas por nome
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pacientes_data_cadastro ON pacientes (data_cadastro);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pacientes_ativo_nome ON pacientes (ativo, nome);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materiais_ativo_nome ON materiais (ativo, nome);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_dentistas_ativo ON dentistas (ativo);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_dentista_plano_saude_plano ON dentista_plano_saude (plano_saude_id);
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Paginação por cursor ordena por (data, id) decrescente: o índice composto entrega as páginas já
+-- ordenadas e também atende os filtros por intervalo de data, substituindo o índice só da data.
+-- São as tabelas mais gravadas: CONCURRENTLY não bloqueia as gravações durante a criação e a remoção.
+-- Roda fora de transação (V3__indices_paginacao_cursor.sql.conf) e com a trava de sessão do Flyway
+-- (spring.flyway.postgresql.transactional-lock=false); os comandos podem ser repetidos se a migration for interrompida.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_consultas_data_hora_id ON consultas (data_hora, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_consultas_data_hora;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movimentacoes_data_id ON movimentacoes_material (data_movimentacao, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_movimentacoes_data;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_material_consulta_data_utilizacao_id ON material_consulta (data_utilizacao, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_material_consulta_data_utilizacao;
\ No newline at end of file
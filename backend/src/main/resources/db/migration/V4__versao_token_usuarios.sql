@@ -0,0 +1,3 @@
+-- Versão dos tokens JWT por usuário: o filtro de autenticação valida a claim "ver" contra essa versão
+-- em memória, sem consultar o banco a cada requisição.
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS versao_token integer NOT NULL DEFAULT 0;
\ No newline at end of file
@@ -0,0 +1,19 @@
+-- Ids passam a ser gerados pelo Hibernate a partir de sequências, reservados em blocos de 50 (otimizador pooled),
+-- o que permite agrupar os INSERTs em lotes JDBC. As sequências são as que já alimentam as colunas id
+-- (bigserial no esquema da V1, identity nos bancos criados pelo Hibernate): só o incremento muda, o próximo
+-- valor continua acima do maior id existente e o default das colunas segue usando a mesma sequência.
+DO $$
+DECLARE
+    tabela text;
+BEGIN
+    FOREACH tabela IN ARRAY ARRAY['consultas', 'dentistas', 'materiais', 'material_consulta',
+                                  'movimentacoes_material', 'pacientes', 'planos_saude', 'usuarios'] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = tabela
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', tabela);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence(tabela, 'id'));
+        END IF;
+    END LOOP;
+END $$;
\ No newline at end of file
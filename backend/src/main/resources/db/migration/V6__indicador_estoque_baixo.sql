@@ -0,0 +1,11 @@
+-- Indicador de estoque baixo mantido pela aplicação a cada gravação do material: a listagem e a contagem
+-- de estoque baixo passam a usar o índice em vez de comparar estoque_atual com estoque_minimo linha a linha.
+-- Roda fora de transação (V6__indicador_estoque_baixo.sql.conf) e com a trava de sessão do Flyway
+-- (spring.flyway.postgresql.transactional-lock=false) por causa do CONCURRENTLY; os comandos
+-- podem ser repetidos se a migration for interrompida.
+ALTER TABLE materiais ADD COLUMN IF NOT EXISTS estoque_baixo boolean NOT NULL DEFAULT false;
+
+UPDATE materiais SET estoque_baixo = (estoque_atual <= estoque_minimo);
+
+-- Parcial: só os materiais ativos em alerta, uma fração pequena da tabela, já na ordem da listagem
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materiais_estoque_baixo_nome ON materiais (nome) WHERE estoque_baixo AND ativo;
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.clinica.odonto;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Registra o SQL preparado pelo Hibernate na thread do teste (configurado em application-test.yml).
+// Comandos em lote JDBC aparecem uma única vez, como são preparados.
+public class ComandosSqlCapturados implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> COMANDOS = new ThreadLocal<>();
+
+    private static final ThreadLocal<Runnable> ANTES_DO_PRIMEIRO_COMANDO = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Runnable antes = ANTES_DO_PRIMEIRO_COMANDO.get();
+        if (antes != null) {
+            ANTES_DO_PRIMEIRO_COMANDO.remove();
+            antes.run();
+        }
+        List<String> comandos = COMANDOS.get();
+        if (comandos != null) {
+            comandos.add(sql.trim().replaceAll("\\s+", " ").toLowerCase());
+        }
+        return sql;
+    }
+
+    public static List<String> capturar(Runnable acao) {
+        List<String> comandos = new ArrayList<>();
+        COMANDOS.set(comandos);
+        try {
+            acao.run();
+        } finally {
+            COMANDOS.remove();
+        }
+        return comandos;
+    }
+
+    // Executa antesDoPrimeiroComando quando o primeiro SQL da ação é preparado, antes de ir ao banco
+    public static List<String> capturar(Runnable acao, Runnable antesDoPrimeiroComando) {
+        ANTES_DO_PRIMEIRO_COMANDO.set(antesDoPrimeiroComando);
+        try {
+            return capturar(acao);
+        } finally {
+            ANTES_DO_PRIMEIRO_COMANDO.remove();
+        }
+    }
+}
\ No newline at end of file
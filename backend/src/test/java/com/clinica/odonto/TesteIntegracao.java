@@ -0,0 +1,146 @@
+package com.clinica.odonto;
+
+import com.clinica.odonto.application.dto.ConsultaRequest;
+import com.clinica.odonto.application.dto.DentistaRequest;
+import com.clinica.odonto.application.dto.MaterialRequest;
+import com.clinica.odonto.application.dto.PacienteRequest;
+import com.clinica.odonto.application.dto.UsuarioRequest;
+import com.clinica.odonto.application.service.ConsultaService;
+import com.clinica.odonto.application.service.DentistaService;
+import com.clinica.odonto.application.service.MaterialService;
+import com.clinica.odonto.application.service.PacienteService;
+import com.clinica.odonto.application.service.UsuarioService;
+import com.clinica.odonto.domain.entity.Sexo;
+import com.clinica.odonto.domain.entity.TipoUsuario;
+import com.clinica.odonto.domain.repository.UsuarioRepository;
+import com.clinica.odonto.infrastructure.cache.CanalInvalidacaoCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+// Contexto Spring compartilhado pelos testes de integração (H2 em memória, perfil test).
+// Cada teste cria os próprios cadastros com códigos únicos, então a ordem de execução não importa.
+// O MockMvc passa pela cadeia de filtros do Spring Security, como as requisições reais.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class TesteIntegracao {
+
+    private static final AtomicLong SEQUENCIA = new AtomicLong();
+
+    @Autowired
+    protected DentistaService dentistaService;
+
+    @Autowired
+    protected PacienteService pacienteService;
+
+    @Autowired
+    protected ConsultaService consultaService;
+
+    @Autowired
+    protected MaterialService materialService;
+
+    @Autowired
+    protected UsuarioService usuarioService;
+
+    @Autowired
+    protected UsuarioRepository usuarioRepository;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    private CanalInvalidacaoCache canal;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    protected static long proximoNumero() {
+        return SEQUENCIA.incrementAndGet();
+    }
+
+    protected Long novoDentista() {
+        long numero = proximoNumero();
+        DentistaRequest request = new DentistaRequest("Dentista Teste " + numero, "dentista" + numero + "@teste.com",
+                "senha123", "CRO-T" + numero, null, null);
+        return dentistaService.criar(request).getId();
+    }
+
+    protected Long novoPaciente() {
+        long numero = proximoNumero();
+        PacienteRequest request = new PacienteRequest("Paciente Teste " + numero, String.format("%011d", numero),
+                LocalDate.of(1990, 1, 1), Sexo.FEMININO);
+        return pacienteService.criarPaciente(request).getId();
+    }
+
+    protected Long novaConsulta(Long pacienteId, Long dentistaId, LocalDateTime dataHora) {
+        return consultaService.criarConsulta(new ConsultaRequest(pacienteId, dentistaId, dataHora, "Avaliação")).getId();
+    }
+
+    protected Long novoMaterial(String estoqueAtual, String estoqueMinimo) {
+        long numero = proximoNumero();
+        MaterialRequest request = new MaterialRequest("Material Teste " + numero, "MT-" + numero, "Teste", "UN",
+                new BigDecimal(estoqueAtual), new BigDecimal(estoqueMinimo), new BigDecimal("2.50"));
+        return materialService.criarMaterial(request).getId();
+    }
+
+    protected Long novoUsuario(TipoUsuario tipo) {
+        long numero = proximoNumero();
+        UsuarioRequest request = new UsuarioRequest("Usuário Teste " + numero, "usuario" + numero + "@teste.com", "senha123", tipo);
+        return usuarioService.criarUsuario(request).getId();
+    }
+
+    protected Long idAdmin() {
+        return usuarioRepository.findByEmail("admin@clinica.com").orElseThrow().getId();
+    }
+
+    // Mensagem de EventosDistribuidos ("origem;json") como se outra instância da aplicação a tivesse publicado
+    protected void publicarComoOutraInstancia(String topico, Object evento) {
+        try {
+            canal.publicar(topico, "outra-instancia;" + objectMapper.writeValueAsString(evento));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Dispara as tarefas ao mesmo tempo (todas esperam a mesma largada) e devolve o resultado de cada uma
+    protected static <T> List<Future<T>> emParalelo(int quantidade, IntFunction<Callable<T>> tarefa) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(quantidade);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<T>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                Callable<T> chamada = tarefa.apply(i);
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return chamada.call();
+                }));
+            }
+            largada.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(2, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Tarefas concorrentes não terminaram a tempo");
+        }
+        return resultados;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.ComandosSqlCapturados;
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.event.ConsultaAlteradaEvent;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgendaDentistaIndexTest extends TesteIntegracao {
+
+    @Autowired
+    private AgendaDentistaIndex agendaDentistaIndex;
+
+    // Dia já indexado: conflitos e horários livres respondidos sem nenhum comando SQL
+    @Test
+    void diaIndexadoRespondeSemIrAoBanco() {
+        Long dentistaId = novoDentista();
+        LocalDateTime horario = horarioFuturo();
+        Long consultaId = novaConsulta(novoPaciente(), dentistaId, horario);
+
+        List<String> comandos = ComandosSqlCapturados.capturar(() -> {
+            assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario.plusMinutes(59), null)).isTrue();
+            assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario.minusMinutes(59), null)).isTrue();
+            assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario.plusHours(1), null)).isFalse();
+            assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario.minusHours(1), null)).isFalse();
+            assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario, consultaId)).isFalse();
+        });
+        assertThat(comandos).isEmpty();
+    }
+
+    // Após um reinício (ou perda de mensagens) o dia é lido do banco uma vez e volta a ser servido da memória
+    @Test
+    void diaAusenteEReconciliadoComOBanco() {
+        Long dentistaId = novoDentista();
+        LocalDateTime horario = horarioFuturo();
+        novaConsulta(novoPaciente(), dentistaId, horario);
+
+        agendaDentistaIndex.invalidarTudo();
+
+        assertThat(ComandosSqlCapturados.capturar(
+                () -> assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario, null)).isTrue())).hasSize(1);
+        assertThat(ComandosSqlCapturados.capturar(
+                () -> assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario, null)).isTrue())).isEmpty();
+    }
+
+    // Gravações confirmadas em outra instância chegam pelo canal e atualizam o dia já indexado
+    @Test
+    void alteracoesDeOutraInstanciaAtualizamOIndice() {
+        Long dentistaId = novoDentista();
+        LocalDateTime horario = horarioFuturo();
+        Long consultaId = novaConsulta(novoPaciente(), dentistaId, horario);
+        LocalDateTime novoHorario = horario.plusHours(3);
+
+        publicarComoOutraInstancia(AgendaDentistaIndex.TOPICO, new ConsultaAlteradaEvent(consultaId,
+                new ConsultaAlteradaEvent.Situacao(dentistaId, horario, StatusConsulta.AGENDADA, null),
+                new ConsultaAlteradaEvent.Situacao(dentistaId, novoHorario, StatusConsulta.AGENDADA, null)));
+
+        assertThat(agendaDentistaIndex.possuiConflito(dentistaId, horario, null)).isFalse();
+        assertThat(agendaDentistaIndex.possuiConflito(dentistaId, novoHorario, null)).isTrue();
+    }
+
+    private static LocalDateTime horarioFuturo() {
+        return LocalDateTime.now().plusYears(4).plusDays(proximoNumero()).withHour(10).truncatedTo(ChronoUnit.HOURS);
+    }
+}
\ No newline at end of file
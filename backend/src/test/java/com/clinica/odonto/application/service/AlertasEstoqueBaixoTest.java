@@ -0,0 +1,135 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
+import com.clinica.odonto.application.event.EstoqueBaixoAlteradoEvent;
+import com.clinica.odonto.domain.entity.TipoMovimentacao;
+import com.clinica.odonto.infrastructure.cache.CanalInvalidacaoCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Clientes conectados ao fluxo SSE de estoque baixo: recebem a lista inicial e um alerta por cruzamento do
+// estoque mínimo, seja a movimentação desta instância ou de outra (tópico "estoque-baixo")
+class AlertasEstoqueBaixoTest extends TesteIntegracao {
+
+    private static final String TOPICO = "estoque-baixo";
+
+    private static final long ESPERA_MILLIS = 10_000;
+
+    @Autowired
+    private MovimentacaoMaterialService movimentacaoMaterialService;
+
+    @Autowired
+    private CanalInvalidacaoCache canal;
+
+    // Só as movimentações que cruzam o mínimo, nos dois sentidos, geram alerta; cada um é repassado às demais instâncias
+    @Test
+    void cruzamentoDoEstoqueMinimoAlertaOsClientesEAsDemaisInstancias() throws Exception {
+        Long materialId = novoMaterial("10", "5");
+        List<String> repassados = new CopyOnWriteArrayList<>();
+        canal.inscrever(TOPICO, mensagem -> {
+            if (mensagem.contains("\"materialId\":" + materialId + ",")) {
+                repassados.add(mensagem);
+            }
+        });
+
+        MvcResult fluxo = inscrever();
+        try {
+            aguardar(fluxo, "event:estoque-baixo");
+
+            movimentar(materialId, TipoMovimentacao.SAIDA, "3");
+            movimentar(materialId, TipoMovimentacao.SAIDA, "3");
+            movimentar(materialId, TipoMovimentacao.SAIDA, "1");
+            movimentar(materialId, TipoMovimentacao.ENTRADA, "10");
+
+            List<String> alertas = aguardarAlertas(fluxo, materialId, 2);
+            assertThat(alertas).hasSize(2);
+            assertThat(alertas.get(0)).contains("\"estoqueAtual\":4", "\"estoqueBaixo\":true");
+            assertThat(alertas.get(1)).contains("\"estoqueAtual\":13", "\"estoqueBaixo\":false");
+
+            assertThat(repassados).hasSize(2);
+            assertThat(repassados.get(0)).contains("\"estoqueBaixo\":true");
+            assertThat(repassados.get(1)).contains("\"estoqueBaixo\":false");
+        } finally {
+            fluxo.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    void alertaDeOutraInstanciaChegaAosClientesDestaInstancia() throws Exception {
+        MvcResult fluxo = inscrever();
+        try {
+            aguardar(fluxo, "event:estoque-baixo");
+            Long materialId = proximoNumero() + 1_000_000;
+
+            publicarComoOutraInstancia(TOPICO, new EstoqueBaixoAlteradoEvent(materialId, "Material Remoto", "MR-1",
+                    new BigDecimal("2"), new BigDecimal("5"), true));
+
+            List<String> alertas = aguardarAlertas(fluxo, materialId, 1);
+            assertThat(alertas).singleElement().asString().contains("\"nome\":\"Material Remoto\"", "\"estoqueBaixo\":true");
+        } finally {
+            fluxo.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    private MvcResult inscrever() throws Exception {
+        return mockMvc.perform(get("/api/materiais/estoque-baixo/stream").with(user("recepcao").roles("RECEPCIONISTA")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void movimentar(Long materialId, TipoMovimentacao tipo, String quantidade) {
+        movimentacaoMaterialService.registrarMovimentacao(
+                new MovimentacaoMaterialRequest(materialId, tipo, new BigDecimal(quantidade)), idAdmin());
+    }
+
+    // Os envios acontecem no executor: espera até o fluxo conter o trecho
+    private static void aguardar(MvcResult fluxo, String trecho) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MILLIS;
+        String conteudo = conteudo(fluxo);
+        while (!conteudo.contains(trecho) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            conteudo = conteudo(fluxo);
+        }
+        assertThat(conteudo).contains(trecho);
+    }
+
+    private static List<String> aguardarAlertas(MvcResult fluxo, Long materialId, int quantidade) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MILLIS;
+        List<String> alertas = alertas(conteudo(fluxo), materialId);
+        while (alertas.size() < quantidade && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            alertas = alertas(conteudo(fluxo), materialId);
+        }
+        return alertas;
+    }
+
+    private static List<String> alertas(String conteudo, Long materialId) {
+        Matcher evento = Pattern.compile("event:alerta\ndata:(\\{[^\n]*})").matcher(conteudo);
+        List<String> alertas = new ArrayList<>();
+        while (evento.find()) {
+            if (evento.group(1).contains("\"materialId\":" + materialId + ",")) {
+                alertas.add(evento.group(1));
+            }
+        }
+        return alertas;
+    }
+
+    private static String conteudo(MvcResult fluxo) throws Exception {
+        return fluxo.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cada leitura de consultas emite um número fixo de comandos SQL, qualquer que seja o tamanho do resultado:
+// paciente, dentista e usuário do dentista vêm na mesma consulta, sem 1 + 3N. O cache L2 é esvaziado
+// antes de cada medição para que associações carregadas sob demanda apareçam na contagem.
+class ConsultaServiceComandosSqlTest extends TesteIntegracao {
+
+    private static final int POUCAS = 2;
+    private static final int MUITAS = 10;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void leiturasDeConsultasNaoCrescemComOResultado() {
+        Long pacienteId = novoPaciente();
+        Long dentistaId = novoDentista();
+        LocalDate dia = LocalDate.now().plusYears(2).plusDays(proximoNumero());
+
+        Long consultaId = agendar(pacienteId, dentistaId, dia, 0, POUCAS);
+        Map<String, Long> comPoucas = medirLeituras(pacienteId, dentistaId, dia, consultaId, 2 * POUCAS);
+
+        agendar(pacienteId, dentistaId, dia, 2 * POUCAS, MUITAS);
+        Map<String, Long> comMuitas = medirLeituras(pacienteId, dentistaId, dia, consultaId, 2 * (POUCAS + MUITAS));
+
+        assertThat(comMuitas).isEqualTo(comPoucas);
+        assertThat(comPoucas).allSatisfy((leitura, comandos) ->
+                assertThat(comandos).as(leitura).isLessThanOrEqualTo(leitura.equals("listarComPaginacao") ? 2 : 1));
+    }
+
+    // Metade das consultas é do paciente com dentistas novos e metade do dentista com pacientes novos,
+    // todas no mesmo dia e uma por hora
+    private Long agendar(Long pacienteId, Long dentistaId, LocalDate dia, int primeiraHora, int quantidade) {
+        LocalDateTime horario = dia.atStartOfDay().plusHours(primeiraHora);
+        Long consultaId = null;
+        for (int i = 0; i < quantidade; i++) {
+            consultaId = novaConsulta(pacienteId, novoDentista(), horario);
+            novaConsulta(novoPaciente(), dentistaId, horario.plusHours(1));
+            horario = horario.plusHours(2);
+        }
+        return consultaId;
+    }
+
+    // Páginas menores que o total de consultas, para que a contagem da paginação sempre seja emitida
+    private Map<String, Long> medirLeituras(Long pacienteId, Long dentistaId, LocalDate dia, Long consultaId, int consultasNoDia) {
+        Map<String, Long> comandos = new LinkedHashMap<>();
+        comandos.put("listarTodas", contarComandos(() -> consultaService.listarTodas()));
+        comandos.put("listarComPaginacao", contarComandos(() -> consultaService.listarComPaginacao(PageRequest.of(0, POUCAS))));
+        comandos.put("listarPorCursor", contarComandos(() -> consultaService.listarPorCursor(null, POUCAS)));
+        comandos.put("buscarPorId", contarComandos(() -> consultaService.buscarPorId(consultaId)));
+        comandos.put("buscarPorData", contarComandos(() -> {
+            assertThat(consultaService.buscarPorData(dia)).hasSize(consultasNoDia);
+            return null;
+        }));
+        comandos.put("buscarPorPaciente", contarComandos(() -> consultaService.buscarPorPaciente(pacienteId)));
+        comandos.put("buscarPorDentista", contarComandos(() -> consultaService.buscarPorDentista(dentistaId)));
+        comandos.put("buscarPorStatus", contarComandos(() -> consultaService.buscarPorStatus(StatusConsulta.AGENDADA)));
+        comandos.put("buscarPorPeriodo", contarComandos(() ->
+                consultaService.buscarPorPeriodo(dia.atStartOfDay(), dia.plusDays(1).atStartOfDay())));
+        return comandos;
+    }
+
+    private long contarComandos(Supplier<?> leitura) {
+        entityManagerFactory.getCache().evictAll();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        leitura.get();
+        return estatisticas.getPrepareStatementCount();
+    }
+}
\ No newline at end of file
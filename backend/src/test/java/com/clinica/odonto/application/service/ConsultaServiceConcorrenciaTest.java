@@ -0,0 +1,153 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.event.ConsultaAlteradaEvent;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsultaServiceConcorrenciaTest extends TesteIntegracao {
+
+    private static final int CLIENTES = 32;
+
+    // Carga do teste de vazão: muitos clientes disputando poucas agendas, em horários de 15 em 15 minutos
+    private static final int CLIENTES_CARGA = 64;
+    private static final int AGENDAMENTOS_POR_CLIENTE = 20;
+    private static final int DENTISTAS_CARGA = 32;
+    private static final int HORARIOS_POR_DIA = 48;
+    private static final double TENTATIVAS_POR_SEGUNDO_MINIMAS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void agendamentosSimultaneosNoMesmoHorarioGravamUmaUnicaConsulta() throws Exception {
+        Long dentistaId = novoDentista();
+        Long pacienteId = novoPaciente();
+        LocalDateTime horario = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        List<Future<Long>> resultados = emParalelo(CLIENTES, i -> () -> novaConsulta(pacienteId, dentistaId, horario));
+
+        int sucessos = 0;
+        for (Future<Long> resultado : resultados) {
+            try {
+                resultado.get();
+                sucessos++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).hasMessage("Dentista já possui consulta agendada neste horário");
+            }
+        }
+        assertThat(sucessos).isEqualTo(1);
+        assertThat(horariosAtivos(dentistaId)).containsExactly(horario);
+    }
+
+    @Test
+    void agendamentosSimultaneosSobrepostosNuncaDeixamDuasConsultasNaMesmaHora() throws Exception {
+        Long dentistaId = novoDentista();
+        Long pacienteId = novoPaciente();
+        LocalDateTime inicio = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.HOURS);
+
+        // Horários de 15 em 15 minutos: cada um conflita com os vizinhos a menos de uma hora
+        emParalelo(CLIENTES, i -> () -> novaConsulta(pacienteId, dentistaId, inicio.plusMinutes(15L * i)));
+
+        List<LocalDateTime> horarios = horariosAtivos(dentistaId);
+        assertThat(horarios).isNotEmpty();
+        for (int i = 1; i < horarios.size(); i++) {
+            assertThat(Duration.between(horarios.get(i - 1), horarios.get(i))).isGreaterThanOrEqualTo(Duration.ofHours(1));
+        }
+    }
+
+    @Test
+    void horarioLiberadoPorOutraInstanciaPodeSerReagendado() {
+        Long dentistaId = novoDentista();
+        Long pacienteId = novoPaciente();
+        LocalDateTime horario = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.HOURS);
+        Long consultaId = novaConsulta(pacienteId, dentistaId, horario);
+
+        assertThatThrownBy(() -> novaConsulta(pacienteId, dentistaId, horario))
+                .hasMessage("Dentista já possui consulta agendada neste horário");
+
+        // Cancelamento gravado direto no banco e repassado às demais instâncias, como faria outra instância da aplicação
+        jdbcTemplate.update("UPDATE consultas SET status = 'CANCELADA' WHERE id = ?", consultaId);
+        publicarComoOutraInstancia(AgendaDentistaIndex.TOPICO, new ConsultaAlteradaEvent(consultaId,
+                new ConsultaAlteradaEvent.Situacao(dentistaId, horario, StatusConsulta.AGENDADA, null),
+                new ConsultaAlteradaEvent.Situacao(dentistaId, horario, StatusConsulta.CANCELADA, null)));
+
+        assertThat(novaConsulta(pacienteId, dentistaId, horario)).isNotNull();
+    }
+
+    // Cada tentativa agenda ou é recusada por conflito; nenhuma agenda termina com duas consultas a menos de uma hora
+    @Test
+    void cargaDeAgendamentosConcorrentesSemDuplicidadeEComVazaoMinima() throws Exception {
+        List<Long> dentistas = new ArrayList<>();
+        List<Long> pacientes = new ArrayList<>();
+        for (int i = 0; i < DENTISTAS_CARGA; i++) {
+            dentistas.add(novoDentista());
+            pacientes.add(novoPaciente());
+        }
+        LocalDateTime dia = LocalDateTime.now().plusYears(5).plusDays(proximoNumero()).withHour(7).truncatedTo(ChronoUnit.HOURS);
+
+        // Rodada de aquecimento (JIT, caches, pool de conexões) em outro dia, fora da medição
+        agendarEmCarga(dentistas, pacientes, dia.plusDays(1));
+
+        long largada = System.nanoTime();
+        int agendadas = agendarEmCarga(dentistas, pacientes, dia);
+        double segundos = (System.nanoTime() - largada) / 1e9;
+
+        double tentativasPorSegundo = CLIENTES_CARGA * AGENDAMENTOS_POR_CLIENTE / segundos;
+        System.out.printf("Agendamentos: %d tentativas, %d gravados em %.2f s (%.0f tentativas/s)%n",
+                CLIENTES_CARGA * AGENDAMENTOS_POR_CLIENTE, agendadas, segundos, tentativasPorSegundo);
+
+        for (Long dentistaId : dentistas) {
+            List<LocalDateTime> horarios = horariosAtivos(dentistaId);
+            for (int i = 1; i < horarios.size(); i++) {
+                assertThat(Duration.between(horarios.get(i - 1), horarios.get(i))).isGreaterThanOrEqualTo(Duration.ofHours(1));
+            }
+        }
+        assertThat(agendadas).isPositive();
+        assertThat(tentativasPorSegundo).isGreaterThanOrEqualTo(TENTATIVAS_POR_SEGUNDO_MINIMAS);
+    }
+
+    private int agendarEmCarga(List<Long> dentistas, List<Long> pacientes, LocalDateTime inicio) throws Exception {
+        List<Future<Integer>> resultados = emParalelo(CLIENTES_CARGA, cliente -> () -> {
+            int agendadas = 0;
+            for (int i = 0; i < AGENDAMENTOS_POR_CLIENTE; i++) {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                try {
+                    novaConsulta(pacientes.get(aleatorio.nextInt(DENTISTAS_CARGA)),
+                            dentistas.get(aleatorio.nextInt(DENTISTAS_CARGA)),
+                            inicio.plusMinutes(15L * aleatorio.nextInt(HORARIOS_POR_DIA)));
+                    agendadas++;
+                } catch (RuntimeException e) {
+                    assertThat(e).hasMessage("Dentista já possui consulta agendada neste horário");
+                }
+            }
+            return agendadas;
+        });
+
+        int agendadas = 0;
+        for (Future<Integer> resultado : resultados) {
+            agendadas += resultado.get();
+        }
+        return agendadas;
+    }
+
+    private List<LocalDateTime> horariosAtivos(Long dentistaId) {
+        return jdbcTemplate.queryForList(
+                "SELECT data_hora FROM consultas WHERE dentista_id = ? AND status <> 'CANCELADA' ORDER BY data_hora",
+                LocalDateTime.class, dentistaId);
+    }
+}
\ No newline at end of file
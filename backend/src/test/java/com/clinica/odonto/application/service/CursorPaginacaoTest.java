@@ -0,0 +1,78 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.ConsultaResponse;
+import com.clinica.odonto.application.dto.PaginaCursorResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CursorPaginacaoTest extends TesteIntegracao {
+
+    private static final int MESMO_HORARIO = 7;
+    private static final int TAMANHO_PAGINA = 3;
+
+    // Várias consultas com o mesmo data_hora atravessam as divisas das páginas: o id desempata,
+    // então cada uma aparece exatamente uma vez e na ordem (data_hora, id) decrescente
+    @Test
+    void percorreTodasAsPaginasSemPularNemRepetirHorariosIguais() {
+        LocalDateTime horario = LocalDateTime.now().plusYears(6).plusDays(proximoNumero()).withHour(15).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime anterior = horario.minusHours(2);
+
+        List<Long> esperadas = new ArrayList<>();
+        List<Long> doHorario = new ArrayList<>();
+        for (int i = 0; i < MESMO_HORARIO; i++) {
+            doHorario.add(novaConsulta(novoPaciente(), novoDentista(), horario));
+        }
+        List<Long> doAnterior = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            doAnterior.add(novaConsulta(novoPaciente(), novoDentista(), anterior));
+        }
+        doHorario.sort(Comparator.reverseOrder());
+        doAnterior.sort(Comparator.reverseOrder());
+        esperadas.addAll(doHorario);
+        esperadas.addAll(doAnterior);
+
+        // Começa logo depois de tudo que está em "horario", como se as páginas mais recentes já tivessem sido lidas
+        String cursor = new CursorPaginacao(horario, Long.MAX_VALUE).codificar();
+        List<Long> lidas = new ArrayList<>();
+        boolean passouDoAnterior = false;
+        while (cursor != null && !passouDoAnterior) {
+            PaginaCursorResponse<ConsultaResponse> pagina = consultaService.listarPorCursor(cursor, TAMANHO_PAGINA);
+            assertThat(pagina.getItens()).hasSizeLessThanOrEqualTo(TAMANHO_PAGINA);
+            for (ConsultaResponse consulta : pagina.getItens()) {
+                if (consulta.getDataHora().isBefore(anterior)) {
+                    passouDoAnterior = true;
+                } else {
+                    lidas.add(consulta.getId());
+                }
+            }
+            cursor = pagina.getProximoCursor();
+            assertThat(pagina.isPossuiMais()).isEqualTo(cursor != null);
+        }
+
+        assertThat(lidas).isEqualTo(esperadas);
+    }
+
+    @Test
+    void cursorInvalidoResponde400() throws Exception {
+        String semSeparador = Base64.getUrlEncoder().encodeToString("2030-01-01T10:00".getBytes(StandardCharsets.UTF_8));
+        String dataInvalida = Base64.getUrlEncoder().encodeToString("ontem|15".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("não é base64!", semSeparador, dataInvalida)) {
+            mockMvc.perform(get("/api/consultas/cursor").param("cursor", cursor).with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.ComandosSqlCapturados;
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.DashboardMetricsResponse;
+import com.clinica.odonto.application.event.CadastroAlteradoEvent;
+import com.clinica.odonto.application.event.ConsultaAlteradaEvent;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Os contadores são fixados num dia sem consultas no banco: o que aparece neles veio dos eventos aplicados pelo teste
+class DashboardMetricsCountersTest extends TesteIntegracao {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2001, 5, 10, 9, 0);
+
+    private static final String TOPICO_CONSULTAS = "dashboard-consultas";
+    private static final String TOPICO_CADASTROS = "dashboard-cadastros";
+
+    @Autowired
+    private DashboardMetricsCounters dashboardMetricsCounters;
+
+    @Autowired
+    private JanelaTempoClinica janelaTempo;
+
+    @BeforeEach
+    void fixarRelogio() {
+        definirAgora(AGORA);
+    }
+
+    @AfterEach
+    void restaurarRelogio() {
+        ReflectionTestUtils.setField(dashboardMetricsCounters, "janelaTempo", janelaTempo);
+        contadores().set(null);
+    }
+
+    // Deltas de outra instância somam e subtraem dos contadores carregados, sem nova consulta ao banco
+    @Test
+    void eventosDeOutraInstanciaAtualizamOsContadores() {
+        DashboardMetricsResponse antes = dashboardMetricsCounters.obterMetricas();
+        Long dentistaId = novoDentista();
+
+        publicarComoOutraInstancia(TOPICO_CONSULTAS, new ConsultaAlteradaEvent(1L, null,
+                new ConsultaAlteradaEvent.Situacao(dentistaId, AGORA.plusHours(5), StatusConsulta.AGENDADA, null)));
+        publicarComoOutraInstancia(TOPICO_CONSULTAS, new ConsultaAlteradaEvent(2L, null,
+                new ConsultaAlteradaEvent.Situacao(dentistaId, AGORA.plusHours(6), StatusConsulta.AGENDADA, null)));
+        publicarComoOutraInstancia(TOPICO_CONSULTAS, new ConsultaAlteradaEvent(1L,
+                new ConsultaAlteradaEvent.Situacao(dentistaId, AGORA.plusHours(5), StatusConsulta.AGENDADA, null),
+                new ConsultaAlteradaEvent.Situacao(dentistaId, AGORA.plusHours(5), StatusConsulta.CONCLUIDA, new BigDecimal("150.00"))));
+        publicarComoOutraInstancia(TOPICO_CADASTROS, CadastroAlteradoEvent.criado(
+                CadastroAlteradoEvent.Tipo.PACIENTE, true, AGORA.minusDays(7)));
+        publicarComoOutraInstancia(TOPICO_CADASTROS, CadastroAlteradoEvent.alterado(
+                CadastroAlteradoEvent.Tipo.PACIENTE, true, false));
+
+        List<String> comandos = ComandosSqlCapturados.capturar(() -> {
+            DashboardMetricsResponse depois = dashboardMetricsCounters.obterMetricas();
+
+            assertThat(depois.getConsultasHoje()).isEqualTo(antes.getConsultasHoje() + 2);
+            assertThat(depois.getConsultasAgendadasHoje()).isEqualTo(antes.getConsultasAgendadasHoje() + 1);
+            assertThat(depois.getConsultasConcluidasHoje()).isEqualTo(antes.getConsultasConcluidasHoje() + 1);
+            assertThat(depois.getConsultasNoMes()).isEqualTo(antes.getConsultasNoMes() + 2);
+            assertThat(depois.getFaturamentoMensal()).isEqualByComparingTo(antes.getFaturamentoMensal().add(new BigDecimal("150.00")));
+            assertThat(depois.getPacientesCadastradosNoMes()).isEqualTo(antes.getPacientesCadastradosNoMes() + 1);
+            // O dentista criado pelo teste passa pelo evento local; o paciente foi criado e inativado na outra instância
+            assertThat(depois.getTotalDentistas()).isEqualTo(antes.getTotalDentistas() + 1);
+            assertThat(depois.getTotalPacientes()).isEqualTo(antes.getTotalPacientes());
+        });
+        assertThat(comandos).isEmpty();
+    }
+
+    // Na virada do dia os contadores são recarregados do banco: o que só existia nos deltas do dia anterior some
+    @Test
+    void trocaDeDiaRecarregaDoBanco() {
+        DashboardMetricsResponse antes = dashboardMetricsCounters.obterMetricas();
+        publicarComoOutraInstancia(TOPICO_CONSULTAS, new ConsultaAlteradaEvent(3L, null,
+                new ConsultaAlteradaEvent.Situacao(1L, AGORA.plusHours(5), StatusConsulta.AGENDADA, null)));
+        assertThat(dashboardMetricsCounters.obterMetricas().getConsultasHoje()).isEqualTo(antes.getConsultasHoje() + 1);
+
+        definirAgora(AGORA.plusDays(1));
+
+        assertThat(ComandosSqlCapturados.capturar(() -> {
+            DashboardMetricsResponse diaSeguinte = dashboardMetricsCounters.obterMetricas();
+            assertThat(diaSeguinte.getConsultasHoje()).isZero();
+            assertThat(diaSeguinte.getConsultasNoMes()).isZero();
+        })).hasSize(1);
+        assertThat(ComandosSqlCapturados.capturar(dashboardMetricsCounters::obterMetricas)).isEmpty();
+    }
+
+    // Evento recebido enquanto a consulta agregada está em andamento: não está no resultado e é reaplicado sobre ele
+    @Test
+    void eventoDuranteARecargaEReaplicado() {
+        DashboardMetricsResponse antes = dashboardMetricsCounters.obterMetricas();
+        definirAgora(AGORA.plusDays(1));
+
+        ComandosSqlCapturados.capturar(dashboardMetricsCounters::obterMetricas,
+                () -> publicarComoOutraInstancia(TOPICO_CONSULTAS, new ConsultaAlteradaEvent(4L, null,
+                        new ConsultaAlteradaEvent.Situacao(1L, AGORA.plusDays(1).plusHours(2), StatusConsulta.AGENDADA, null))));
+
+        DashboardMetricsResponse depois = dashboardMetricsCounters.obterMetricas();
+        assertThat(depois.getConsultasHoje()).isEqualTo(1);
+        assertThat(depois.getConsultasAgendadasHoje()).isEqualTo(1);
+        assertThat(depois.getConsultasNoMes()).isEqualTo(antes.getConsultasNoMes() + 1);
+    }
+
+    private void definirAgora(LocalDateTime agora) {
+        ZoneId zona = ZoneId.systemDefault();
+        JanelaTempoClinica janela = new JanelaTempoClinica(Clock.fixed(agora.atZone(zona).toInstant(), zona));
+        ReflectionTestUtils.setField(dashboardMetricsCounters, "janelaTempo", janela);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReference<Object> contadores() {
+        return (AtomicReference<Object>) ReflectionTestUtils.getField(dashboardMetricsCounters, "contadores");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.infrastructure.web.FormatoExportacao;
+import org.h2.Driver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exporta 1 milhão de consultas com heap de 64 MB (execução heap-limitado do surefire). Como em produção, o banco
+// roda em outro processo (servidor TCP do H2), e só a aplicação divide os 64 MB; se a exportação acumulasse
+// registros, o teste terminaria em OutOfMemoryError.
+@Tag("heap-limitado")
+class ExportacaoHeapLimitadoTest extends TesteIntegracao {
+
+    private static final long HEAP_MAXIMO = 64L * 1024 * 1024;
+    private static final int LINHAS = 1_000_000;
+    private static final int LOTE_INSERCAO = 100_000;
+    // Bem acima dos ids entregues pela sequência nos cadastros do teste
+    private static final long PRIMEIRO_ID = 10_000_000L;
+
+    private static Process servidorBanco;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void bancoEmOutroProcesso(DynamicPropertyRegistry registry) throws IOException {
+        int porta;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            porta = socket.getLocalPort();
+        }
+        String classpathH2 = Path.of(URI.create(Driver.class.getProtectionDomain().getCodeSource().getLocation().toString())).toString();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        servidorBanco = new ProcessBuilder(java, "-cp", classpathH2, "org.h2.tools.Server",
+                "-tcp", "-tcpPort", String.valueOf(porta), "-ifNotExists", "-baseDir", "target/h2-exportacao")
+                .redirectErrorStream(true)
+                .start();
+        BufferedReader saida = new BufferedReader(new InputStreamReader(servidorBanco.getInputStream()));
+        String linha;
+        while ((linha = saida.readLine()) != null && !linha.contains("TCP server running")) {
+            // aguarda o servidor aceitar conexões
+        }
+        registry.add("spring.datasource.url", () -> "jdbc:h2:tcp://localhost:" + porta + "/./testes");
+    }
+
+    @AfterAll
+    static void pararBanco() {
+        servidorBanco.destroy();
+    }
+
+    @BeforeEach
+    void semearConsultas() {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThanOrEqualTo(HEAP_MAXIMO);
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM consultas", Long.class) >= LINHAS) {
+            return;
+        }
+        Long pacienteId = novoPaciente();
+        Long dentistaId = novoDentista();
+        for (int inicio = 0; inicio < LINHAS; inicio += LOTE_INSERCAO) {
+            jdbcTemplate.update("INSERT INTO consultas (id, paciente_id, dentista_id, data_hora, status, procedimento, observacoes, valor, data_criacao) "
+                            + "SELECT ? + X, ?, ?, DATEADD('MINUTE', X, TIMESTAMP '2020-01-01 08:00:00'), 'CONCLUIDA', 'Limpeza', "
+                            + "'Paciente relata sensibilidade ao frio; orientado uso de creme dental específico.', 150.00, CURRENT_TIMESTAMP "
+                            + "FROM SYSTEM_RANGE(?, ?)",
+                    PRIMEIRO_ID, pacienteId, dentistaId, inicio + 1, inicio + LOTE_INSERCAO);
+        }
+    }
+
+    @Test
+    void exportaUmMilhaoDeLinhasEmNdjson() {
+        assertExportaTudo(FormatoExportacao.NDJSON, 0);
+    }
+
+    @Test
+    void exportaUmMilhaoDeLinhasEmCsv() {
+        assertExportaTudo(FormatoExportacao.CSV, 1);
+    }
+
+    private void assertExportaTudo(FormatoExportacao formato, int linhasDeCabecalho) {
+        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM consultas", Long.class);
+        ContadorLinhas saida = new ContadorLinhas();
+
+        long exportadas = consultaService.exportar(saida, formato);
+
+        assertThat(total).isGreaterThanOrEqualTo(LINHAS);
+        assertThat(exportadas).isEqualTo(total);
+        assertThat(saida.linhas).isEqualTo(total + linhasDeCabecalho);
+    }
+
+    // Descarta o conteúdo e conta as quebras de linha
+    private static class ContadorLinhas extends OutputStream {
+
+        private long linhas;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                linhas++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.ConsultaResponse;
+import com.clinica.odonto.domain.entity.Consulta;
+import com.clinica.odonto.domain.entity.Dentista;
+import com.clinica.odonto.domain.entity.Paciente;
+import com.clinica.odonto.domain.entity.StatusConsulta;
+import com.clinica.odonto.domain.repository.ConsultaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Comparação da listagem de consultas por período: entidades com JOIN FETCH mapeadas para o DTO (caminho anterior)
+// contra a projeção por interface usada hoje. Mede bytes alocados e latência por requisição na thread do teste.
+// Não roda no build normal: mvn test -Dtest=ListagemProjecaoBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ListagemProjecaoBenchmarkTest extends TesteIntegracao {
+
+    private static final int CONSULTAS = 1000;
+    private static final int AQUECIMENTO = 200;
+    private static final int MEDICOES = 300;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void projecaoAlocaMenosQueEntidadesNaListagemPorPeriodo() {
+        LocalDateTime inicio = LocalDateTime.now().plusYears(5).plusDays(proximoNumero()).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime fim = inicio.plusDays(1);
+        semear(inicio);
+
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        Supplier<List<ConsultaResponse>> entidades = () -> leitura.execute(status -> entityManager.createQuery(
+                        "SELECT c FROM Consulta c JOIN FETCH c.paciente JOIN FETCH c.dentista d JOIN FETCH d.usuario "
+                                + "WHERE c.dataHora BETWEEN :inicio AND :fim ORDER BY c.dataHora", Consulta.class)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", fim)
+                .getResultList()
+                .stream()
+                .map(ConsultaResponse::new)
+                .collect(Collectors.toList()));
+        Supplier<List<ConsultaResponse>> projecoes = () -> consultaService.buscarPorPeriodo(inicio, fim);
+
+        assertThat(entidades.get()).hasSize(CONSULTAS);
+        assertThat(projecoes.get()).hasSize(CONSULTAS);
+
+        Medicao antes = medir(entidades);
+        Medicao depois = medir(projecoes);
+        System.out.printf("Listagem de %d consultas, %d medições%n  entidades: %s%n  projeções: %s%n",
+                CONSULTAS, MEDICOES, antes, depois);
+
+        assertThat(depois.bytesPorRequisicao()).isLessThan(antes.bytesPorRequisicao());
+    }
+
+    private void semear(LocalDateTime inicio) {
+        Long pacienteId = novoPaciente();
+        Long dentistaId = novoDentista();
+        String observacoes = "Observação clínica longa. ".repeat(20);
+        TransactionTemplate escrita = new TransactionTemplate(transactionManager);
+        escrita.executeWithoutResult(status -> {
+            Paciente paciente = entityManager.getReference(Paciente.class, pacienteId);
+            Dentista dentista = entityManager.getReference(Dentista.class, dentistaId);
+            List<Consulta> consultas = new ArrayList<>();
+            for (int i = 0; i < CONSULTAS; i++) {
+                Consulta consulta = new Consulta(paciente, dentista, inicio.plusSeconds(i), "Avaliação");
+                consulta.setStatus(StatusConsulta.AGENDADA);
+                consulta.setObservacoes(observacoes);
+                consulta.setValor(new BigDecimal("150.00"));
+                consultas.add(consulta);
+            }
+            consultaRepository.saveAll(consultas);
+        });
+    }
+
+    private Medicao medir(Supplier<?> requisicao) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            requisicao.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long[] latencias = new long[MEDICOES];
+        long alocadosAntes = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            requisicao.get();
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        long alocados = threads.getThreadAllocatedBytes(thread) - alocadosAntes;
+        Arrays.sort(latencias);
+        return new Medicao(alocados / MEDICOES, latencias[MEDICOES / 2], latencias[MEDICOES * 99 / 100]);
+    }
+
+    private record Medicao(long bytesPorRequisicao, long p50Nanos, long p99Nanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%,d KB/requisição, p50 %.2f ms, p99 %.2f ms",
+                    bytesPorRequisicao / 1024, p50Nanos / 1e6, p99Nanos / 1e6);
+        }
+    }
+}
\ No newline at end of file
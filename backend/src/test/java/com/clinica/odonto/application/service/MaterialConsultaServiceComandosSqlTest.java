@@ -0,0 +1,131 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.ComandosSqlCapturados;
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.MaterialConsultaRequest;
+import com.clinica.odonto.domain.entity.Material;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Lançamento de material em consulta: uma leitura do nome do paciente, um único UPDATE condicional do saldo,
+// a leitura do saldo resultante e um INSERT por tabela, enviados no mesmo lote JDBC do flush
+class MaterialConsultaServiceComandosSqlTest extends TesteIntegracao {
+
+    @Autowired
+    private MaterialConsultaService materialConsultaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void registrarMaterialConsultaEmiteUmUpdateEUmLoteDeInserts() {
+        Long materialId = novoMaterial("100", "1");
+        Long consultaId = novaConsulta(novoPaciente(), novoDentista(),
+                LocalDateTime.now().plusYears(3).plusDays(proximoNumero()).truncatedTo(ChronoUnit.HOURS));
+        Long usuarioId = idAdmin();
+        MaterialConsultaRequest request = new MaterialConsultaRequest(materialId, consultaId, BigDecimal.ONE);
+
+        // Primeiro lançamento aquece o cache do usuário e reserva os blocos de ids das sequências
+        materialConsultaService.registrarMaterialConsulta(request, usuarioId);
+
+        List<String> comandos = ComandosSqlCapturados.capturar(
+                () -> materialConsultaService.registrarMaterialConsulta(request, usuarioId));
+
+        assertThat(comandos).filteredOn(sql -> sql.startsWith("update")).singleElement()
+                .satisfies(sql -> assertThat(sql).startsWith("update materiais").contains("where id = ? and estoque_atual >= ?"));
+        assertThat(comandos).filteredOn(sql -> sql.startsWith("insert"))
+                .map(sql -> sql.split(" ")[2])
+                .containsExactlyInAnyOrder("movimentacoes_material", "material_consulta");
+        assertThat(comandos).filteredOn(sql -> sql.startsWith("select")).hasSize(2);
+        assertThat(comandos).hasSize(5);
+    }
+
+    // O UPDATE do saldo invalida só o material alterado no cache de segundo nível, não a região inteira
+    @Test
+    void baixaDeEstoqueInvalidaSoOMaterialAlterado() {
+        Long materialId = novoMaterial("100", "1");
+        Long outroMaterialId = novoMaterial("100", "1");
+        Long consultaId = novaConsulta(novoPaciente(), novoDentista(),
+                LocalDateTime.now().plusYears(3).plusDays(proximoNumero()).truncatedTo(ChronoUnit.HOURS));
+
+        materialService.buscarPorId(materialId);
+        materialService.buscarPorId(outroMaterialId);
+        assertThat(entityManagerFactory.getCache().contains(Material.class, materialId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Material.class, outroMaterialId)).isTrue();
+
+        materialConsultaService.registrarMaterialConsulta(
+                new MaterialConsultaRequest(materialId, consultaId, new BigDecimal("3")), idAdmin());
+
+        assertThat(entityManagerFactory.getCache().contains(Material.class, materialId)).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Material.class, outroMaterialId)).isTrue();
+        assertThat(materialService.buscarPorId(materialId).orElseThrow().getEstoqueAtual()).isEqualByComparingTo("97");
+    }
+
+    // Lote tudo ou nada: um item sem saldo recusa o lote inteiro, com todos os itens sem saldo na mensagem,
+    // e nenhum material tem baixa nem lançamento
+    @Test
+    void loteComItemSemEstoqueNaoBaixaNenhumItemEApontaTodosOsErros() {
+        Long comSaldoId = novoMaterial("10", "1");
+        Long semSaldoId = novoMaterial("2", "1");
+        Long somaSemSaldoId = novoMaterial("5", "1");
+        Long consultaId = novaConsulta(novoPaciente(), novoDentista(),
+                LocalDateTime.now().plusYears(3).plusDays(proximoNumero()).truncatedTo(ChronoUnit.HOURS));
+        // O mesmo material em dois itens: cada um cabe no saldo, a soma não
+        List<MaterialConsultaRequest> itens = List.of(
+                new MaterialConsultaRequest(comSaldoId, consultaId, new BigDecimal("3")),
+                new MaterialConsultaRequest(semSaldoId, consultaId, new BigDecimal("5")),
+                new MaterialConsultaRequest(somaSemSaldoId, consultaId, new BigDecimal("3")),
+                new MaterialConsultaRequest(somaSemSaldoId, consultaId, new BigDecimal("3")));
+
+        assertThatThrownBy(() -> materialConsultaService.registrarMateriaisConsulta(itens, idAdmin()))
+                .hasMessageContainingAll(nome(semSaldoId), nome(somaSemSaldoId))
+                .message().doesNotContain(nome(comSaldoId) + ".");
+
+        assertThat(estoqueNoBanco(comSaldoId)).isEqualByComparingTo("10");
+        assertThat(estoqueNoBanco(semSaldoId)).isEqualByComparingTo("2");
+        assertThat(estoqueNoBanco(somaSemSaldoId)).isEqualByComparingTo("5");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM material_consulta WHERE consulta_id = ?",
+                Long.class, consultaId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimentacoes_material WHERE consulta_id = ?",
+                Long.class, consultaId)).isZero();
+    }
+
+    @Test
+    void loteComSaldoSuficienteBaixaTodosOsItens() {
+        Long primeiroId = novoMaterial("10", "1");
+        Long segundoId = novoMaterial("5", "1");
+        Long consultaId = novaConsulta(novoPaciente(), novoDentista(),
+                LocalDateTime.now().plusYears(3).plusDays(proximoNumero()).truncatedTo(ChronoUnit.HOURS));
+
+        materialConsultaService.registrarMateriaisConsulta(List.of(
+                new MaterialConsultaRequest(primeiroId, consultaId, new BigDecimal("3")),
+                new MaterialConsultaRequest(segundoId, consultaId, new BigDecimal("2")),
+                new MaterialConsultaRequest(segundoId, consultaId, new BigDecimal("3"))), idAdmin());
+
+        assertThat(estoqueNoBanco(primeiroId)).isEqualByComparingTo("7");
+        assertThat(estoqueNoBanco(segundoId)).isEqualByComparingTo("0");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM material_consulta WHERE consulta_id = ?",
+                Long.class, consultaId)).isEqualTo(3);
+    }
+
+    private String nome(Long materialId) {
+        return materialService.buscarPorId(materialId).orElseThrow().getNome();
+    }
+
+    private BigDecimal estoqueNoBanco(Long materialId) {
+        return jdbcTemplate.queryForObject("SELECT estoque_atual FROM materiais WHERE id = ?", BigDecimal.class, materialId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.clinica.odonto.application.service;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
+import com.clinica.odonto.application.dto.MovimentacaoMaterialResponse;
+import com.clinica.odonto.domain.entity.Material;
+import com.clinica.odonto.domain.entity.TipoMovimentacao;
+import com.clinica.odonto.domain.repository.MaterialRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovimentacaoMaterialServiceConcorrenciaTest extends TesteIntegracao {
+
+    private static final int CLIENTES = 64;
+    private static final int ESTOQUE_INICIAL = 48;
+
+    @Autowired
+    private MovimentacaoMaterialService movimentacaoMaterialService;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Cada saída enxerga o saldo deixado pela anterior: os saldos registrados formam a sequência 48 → 0 sem
+    // repetições nem saltos, e as saídas que não cabem no estoque são recusadas em vez de deixá-lo negativo
+    @Test
+    void saidasSimultaneasDoMesmoMaterialRegistramSaldosExatos() throws Exception {
+        Long materialId = novoMaterial(String.valueOf(ESTOQUE_INICIAL), "0");
+        Long usuarioId = idAdmin();
+        MovimentacaoMaterialRequest saida = new MovimentacaoMaterialRequest(materialId, TipoMovimentacao.SAIDA, BigDecimal.ONE);
+
+        List<Future<MovimentacaoMaterialResponse>> resultados = emParalelo(CLIENTES,
+                i -> () -> movimentacaoMaterialService.registrarMovimentacao(saida, usuarioId));
+
+        List<MovimentacaoMaterialResponse> registradas = new ArrayList<>();
+        for (Future<MovimentacaoMaterialResponse> resultado : resultados) {
+            try {
+                registradas.add(resultado.get());
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).hasMessageStartingWith("Estoque insuficiente");
+            }
+        }
+
+        assertThat(registradas).hasSize(ESTOQUE_INICIAL);
+        registradas.sort(Comparator.comparing(MovimentacaoMaterialResponse::getEstoqueAnterior).reversed());
+        for (int i = 0; i < registradas.size(); i++) {
+            assertThat(registradas.get(i).getEstoqueAnterior()).isEqualByComparingTo(String.valueOf(ESTOQUE_INICIAL - i));
+            assertThat(registradas.get(i).getEstoqueAtual()).isEqualByComparingTo(String.valueOf(ESTOQUE_INICIAL - i - 1));
+        }
+        assertThat(estoqueNoBanco(materialId)).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimentacoes_material WHERE material_id = ?",
+                Long.class, materialId)).isEqualTo(ESTOQUE_INICIAL);
+    }
+
+    // Material carregado e alterado na mesma transação antes da movimentação: o flush do commit não pode
+    // regravar o saldo anterior ao UPDATE
+    @Test
+    void materialJaCarregadoNaTransacaoNaoRegravaSaldoAntigo() {
+        Long materialId = novoMaterial("10", "0");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Material material = materialRepository.findById(materialId).orElseThrow();
+            material.setDescricao("Lote novo");
+
+            movimentacaoMaterialService.registrarMovimentacao(
+                    new MovimentacaoMaterialRequest(materialId, TipoMovimentacao.SAIDA, new BigDecimal("3")), idAdmin());
+
+            assertThat(material.getEstoqueAtual()).isEqualByComparingTo("7");
+            assertThat(material.getDescricao()).isEqualTo("Lote novo");
+        });
+
+        assertThat(estoqueNoBanco(materialId)).isEqualByComparingTo("7");
+        assertThat(jdbcTemplate.queryForObject("SELECT descricao FROM materiais WHERE id = ?", String.class, materialId))
+                .isEqualTo("Lote novo");
+    }
+
+    // Contagem de inventário no meio das saídas: o ajuste é registrado como movimentação e nenhuma baixa se perde,
+    // então o saldo final é sempre o inicial somado a todas as movimentações registradas
+    @Test
+    void ajusteDeInventarioSimultaneoNaoSobrescreveSaidas() throws Exception {
+        Long materialId = novoMaterial("100", "0");
+        Long usuarioId = idAdmin();
+        MovimentacaoMaterialRequest saida = new MovimentacaoMaterialRequest(materialId, TipoMovimentacao.SAIDA, BigDecimal.ONE);
+
+        List<Future<Object>> resultados = emParalelo(CLIENTES, i -> () -> {
+            if (i == CLIENTES / 2) {
+                materialService.atualizarEstoque(materialId, new BigDecimal("50"), usuarioId);
+            } else {
+                movimentacaoMaterialService.registrarMovimentacao(saida, usuarioId);
+            }
+            return null;
+        });
+        for (Future<Object> resultado : resultados) {
+            resultado.get();
+        }
+
+        BigDecimal movimentado = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(CASE WHEN tipo_movimentacao IN "
+                + "('ENTRADA', 'AJUSTE_POSITIVO') THEN quantidade ELSE -quantidade END), 0) "
+                + "FROM movimentacoes_material WHERE material_id = ?", BigDecimal.class, materialId);
+        assertThat(estoqueNoBanco(materialId)).isEqualByComparingTo(new BigDecimal("100").add(movimentado));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movimentacoes_material WHERE material_id = ?",
+                Long.class, materialId)).isEqualTo(CLIENTES);
+        assertThat(jdbcTemplate.queryForObject("SELECT estoque_atual FROM movimentacoes_material "
+                + "WHERE material_id = ? AND tipo_movimentacao IN ('AJUSTE_POSITIVO', 'AJUSTE_NEGATIVO')", BigDecimal.class, materialId))
+                .isEqualByComparingTo("50");
+    }
+
+    private BigDecimal estoqueNoBanco(Long materialId) {
+        return jdbcTemplate.queryForObject("SELECT estoque_atual FROM materiais WHERE id = ?", BigDecimal.class, materialId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.clinica.odonto.domain.repository;
+
+import com.clinica.odonto.TesteIntegracao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Regressão de plano: as consultas quentes precisam continuar atendidas por índice. Roda no H2 sobre o
+// esquema gerado das entidades (mesmos índices B-tree da V2/V3); uma varredura completa aparece no
+// EXPLAIN como "tableScan". Os índices de trigramas e o planejador do PostgreSQL não são cobertos aqui.
+class PlanoConsultasFrequentesTest extends TesteIntegracao {
+
+    private static final String VARREDURA_COMPLETA = "tableScan";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void conflitoDeHorarioUsaIndiceDoDentista() {
+        assertUsaIndice("SELECT COUNT(*) FROM consultas c WHERE c.dentista_id = 1 "
+                        + "AND c.data_hora > TIMESTAMP '2026-01-01 08:00:00' AND c.data_hora < TIMESTAMP '2026-01-01 10:00:00' "
+                        + "AND c.status <> 'CANCELADA'",
+                "IDX_CONSULTAS_DENTISTA_DATA_HORA");
+    }
+
+    @Test
+    void agendaDoDiaUsaIndiceDeDataOrdenado() {
+        String plano = assertUsaIndice("SELECT * FROM consultas c WHERE c.data_hora >= TIMESTAMP '2026-01-01 00:00:00' "
+                        + "AND c.data_hora < TIMESTAMP '2026-01-02 00:00:00' ORDER BY c.data_hora",
+                "IDX_CONSULTAS_DATA_HORA_ID");
+        assertThat(plano).contains("index sorted");
+    }
+
+    @Test
+    void consultasPorStatusUsamIndice() {
+        assertUsaIndice("SELECT * FROM consultas c WHERE c.status = 'AGENDADA' ORDER BY c.data_hora",
+                "IDX_CONSULTAS_STATUS_DATA_HORA");
+    }
+
+    @Test
+    void paginaSeguinteDoCursorUsaIndiceDeData() {
+        assertUsaIndice("SELECT * FROM consultas c WHERE c.data_hora <= TIMESTAMP '2026-01-01 00:00:00' "
+                        + "AND (c.data_hora < TIMESTAMP '2026-01-01 00:00:00' OR c.id < 100) "
+                        + "ORDER BY c.data_hora DESC, c.id DESC FETCH FIRST 20 ROWS ONLY",
+                "IDX_CONSULTAS_DATA_HORA_ID");
+    }
+
+    @Test
+    void historicosPorPacienteEMaterialNaoVarremATabela() {
+        assertSemVarreduraCompleta("SELECT * FROM consultas c WHERE c.paciente_id = 1 ORDER BY c.data_hora DESC");
+        assertSemVarreduraCompleta("SELECT * FROM movimentacoes_material m WHERE m.material_id = 1 ORDER BY m.data_movimentacao DESC");
+    }
+
+    @Test
+    void materiaisEMovimentacoesDaConsultaUsamIndice() {
+        assertUsaIndice("SELECT * FROM movimentacoes_material m WHERE m.consulta_id = 1", "IDX_MOVIMENTACOES_CONSULTA");
+        assertUsaIndice("SELECT * FROM material_consulta mc WHERE mc.consulta_id = 1", "IDX_MATERIAL_CONSULTA_CONSULTA");
+    }
+
+    @Test
+    void relatoriosDoMesUsamIndiceDeData() {
+        assertUsaIndice("SELECT * FROM material_consulta mc WHERE mc.data_utilizacao >= TIMESTAMP '2026-01-01 00:00:00' "
+                        + "AND mc.data_utilizacao < TIMESTAMP '2026-02-01 00:00:00'",
+                "IDX_MATERIAL_CONSULTA_DATA_UTILIZACAO_ID");
+        assertUsaIndice("SELECT COUNT(*) FROM pacientes p WHERE p.data_cadastro >= TIMESTAMP '2026-01-01 00:00:00' "
+                        + "AND p.data_cadastro < TIMESTAMP '2026-02-01 00:00:00'",
+                "IDX_PACIENTES_DATA_CADASTRO");
+    }
+
+    @Test
+    void listagensDeAtivosUsamIndicePorNome() {
+        assertUsaIndice("SELECT * FROM pacientes p WHERE p.ativo = TRUE ORDER BY p.nome", "IDX_PACIENTES_ATIVO_NOME");
+        assertUsaIndice("SELECT * FROM materiais m WHERE m.ativo = TRUE ORDER BY m.nome", "IDX_MATERIAIS_ATIVO_NOME");
+        assertUsaIndice("SELECT * FROM dentistas d WHERE d.ativo = TRUE", "IDX_DENTISTAS_ATIVO");
+    }
+
+    private String assertUsaIndice(String sql, String indice) {
+        String plano = assertSemVarreduraCompleta(sql);
+        assertThat(plano).as("plano de: %s", sql).contains("PUBLIC." + indice);
+        return plano;
+    }
+
+    private String assertSemVarreduraCompleta(String sql) {
+        String plano = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plano).as("plano de: %s", sql).doesNotContain(VARREDURA_COMPLETA);
+        return plano;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.clinica.odonto.infrastructure.cache;
+
+import com.clinica.odonto.OdontoBackendApplication;
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.application.dto.MaterialRequest;
+import com.clinica.odonto.application.dto.MovimentacaoMaterialRequest;
+import com.clinica.odonto.application.dto.PlanoSaudeRequest;
+import com.clinica.odonto.application.dto.PlanoSaudeResponse;
+import com.clinica.odonto.application.service.MaterialService;
+import com.clinica.odonto.application.service.MovimentacaoMaterialService;
+import com.clinica.odonto.application.service.PlanoSaudeService;
+import com.clinica.odonto.domain.entity.TipoMovimentacao;
+import com.clinica.odonto.domain.repository.DentistaRepository;
+import com.clinica.odonto.infrastructure.config.CacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dois nós da aplicação na mesma JVM, com o mesmo banco H2 e o CanalInvalidacaoLocal entre eles: as gravações
+// de um chegam aos caches do outro, e cada gravação descarta no outro nó só o que depende dela
+class InvalidacaoCacheDistribuidaTest extends TesteIntegracao {
+
+    // Segundo nó, criado uma vez para a classe; o esquema já existe no banco compartilhado e não pode ser
+    // recriado nem apagado por ele
+    private static ConfigurableApplicationContext outroNo;
+
+    @Autowired
+    private PlanoSaudeService planoSaudeService;
+
+    @Autowired
+    private MovimentacaoMaterialService movimentacaoMaterialService;
+
+    @BeforeEach
+    void subirOutroNo() {
+        if (outroNo == null) {
+            outroNo = new SpringApplicationBuilder(OdontoBackendApplication.class)
+                    .run("--spring.profiles.active=test", "--server.port=0", "--spring.jpa.hibernate.ddl-auto=none");
+        }
+    }
+
+    @AfterAll
+    static void derrubarOutroNo() {
+        if (outroNo != null) {
+            outroNo.close();
+            outroNo = null;
+        }
+    }
+
+    // Listagens dos serviços, consultas e entidades em cache no outro nó refletem as gravações deste
+    @Test
+    void gravacoesDeUmNoChegamAosCachesDoOutro() {
+        PlanoSaudeService planosOutroNo = outroNo.getBean(PlanoSaudeService.class);
+        MaterialService materiaisOutroNo = outroNo.getBean(MaterialService.class);
+        long numero = proximoNumero();
+        String categoria = "Categoria " + numero;
+        Long planoId = planoSaudeService.criarPlanoSaude(new PlanoSaudeRequest("Plano " + numero, "ANS-" + numero, null)).getId();
+
+        assertThat(planosOutroNo.listarTodos()).extracting(PlanoSaudeResponse::getNome).contains("Plano " + numero);
+        assertThat(planosOutroNo.buscarPorId(planoId).orElseThrow().getNome()).isEqualTo("Plano " + numero);
+        assertThat(materiaisOutroNo.listarCategorias()).doesNotContain(categoria);
+
+        planoSaudeService.atualizarPlanoSaude(planoId, new PlanoSaudeRequest("Plano Renomeado " + numero, "ANS-" + numero, null));
+        materialService.criarMaterial(new MaterialRequest("Material " + numero, "MC-" + numero, categoria, "UN",
+                new BigDecimal("10"), new BigDecimal("2"), new BigDecimal("1.00")));
+
+        assertThat(planosOutroNo.buscarPorId(planoId).orElseThrow().getNome()).isEqualTo("Plano Renomeado " + numero);
+        assertThat(planosOutroNo.listarTodos()).extracting(PlanoSaudeResponse::getNome)
+                .contains("Plano Renomeado " + numero)
+                .doesNotContain("Plano " + numero);
+        assertThat(materiaisOutroNo.listarCategorias()).contains(categoria);
+    }
+
+    // Movimentar estoque descarta no outro nó a entrada do material, mas não as categorias nem as consultas
+    // em cache de outras tabelas
+    @Test
+    void movimentacaoDeEstoqueSoDescartaNoOutroNoOQueDependeDoMaterial() {
+        MaterialService materiaisOutroNo = outroNo.getBean(MaterialService.class);
+        DentistaRepository dentistasOutroNo = outroNo.getBean(DentistaRepository.class);
+        Statistics estatisticasOutroNo = outroNo.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+        Long materialId = novoMaterial("10", "2");
+
+        materiaisOutroNo.listarCategorias();
+        assertThat(materiaisOutroNo.buscarPorId(materialId).orElseThrow().getEstoqueAtual()).isEqualByComparingTo("10");
+        dentistasOutroNo.findAllAtivos();
+
+        movimentacaoMaterialService.registrarMovimentacao(
+                new MovimentacaoMaterialRequest(materialId, TipoMovimentacao.SAIDA, new BigDecimal("3")), idAdmin());
+
+        assertThat(materiaisOutroNo.buscarPorId(materialId).orElseThrow().getEstoqueAtual()).isEqualByComparingTo("7");
+        assertThat(outroNo.getBean(CacheManager.class).getCache(CacheConfig.CATEGORIAS_MATERIAIS).get("ativas")).isNotNull();
+        long acertos = estatisticasOutroNo.getQueryCacheHitCount();
+        dentistasOutroNo.findAllAtivos();
+        assertThat(estatisticasOutroNo.getQueryCacheHitCount()).isEqualTo(acertos + 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.clinica.odonto.infrastructure.security;
+
+import com.clinica.odonto.TesteIntegracao;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Date;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tokens validados por segundo em uma thread (por núcleo), para as três formas de validar o mesmo token:
+// chave e parser montados a cada chamada com três leituras do token (caminho anterior), parser único com uma
+// leitura (JwtUtil.validarEExtrairClaims) e o resultado reaproveitado até o "exp" (TokenAutenticacaoCache).
+// Não roda no build normal: mvn test -Dtest=JwtValidacaoBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtValidacaoBenchmarkTest extends TesteIntegracao {
+
+    private static final long AQUECIMENTO_MILLIS = 3_000;
+    private static final long MEDICAO_MILLIS = 5_000;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenAutenticacaoCache tokenCache;
+
+    @Value("${app.jwt.secret}")
+    private String secret;
+
+    @Test
+    void parserUnicoEResultadoEmCacheValidamMaisTokensPorSegundo() {
+        String token = jwtUtil.generateToken(usuarioRepository.findById(idAdmin()).orElseThrow());
+
+        double anterior = medir(t -> {
+            // extractUsername e depois isTokenExpired duas vezes, cada leitura com chave e parser novos
+            String usuario = claimsSemCache(t, Claims::getSubject);
+            boolean expirado = claimsSemCache(t, Claims::getExpiration).before(new Date())
+                    || claimsSemCache(t, Claims::getExpiration).before(new Date());
+            return expirado ? 0 : usuario.length();
+        }, token);
+        double parserUnico = medir(t -> jwtUtil.extrairUsuario(jwtUtil.validarEExtrairClaims(t)).id(), token);
+        double emCache = medir(t -> tokenCache.resolver(t).id(), token);
+
+        System.out.printf("Validação de JWT, tokens/s por núcleo%n  chave e parser por chamada, 3 leituras: %,.0f%n"
+                + "  parser único, 1 leitura: %,.0f%n  cache até o exp: %,.0f%n", anterior, parserUnico, emCache);
+
+        assertThat(parserUnico).isGreaterThan(anterior * 3);
+        assertThat(emCache).isGreaterThan(parserUnico);
+    }
+
+    private <T> T claimsSemCache(String token, Function<Claims, T> extrator) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return extrator.apply(claims);
+    }
+
+    // Validações por segundo na thread do teste; o resultado acumulado impede que o JIT descarte o trabalho
+    private static double medir(ToLongFunction<String> validacao, String token) {
+        long acumulado = executarPor(AQUECIMENTO_MILLIS, validacao, token)[1];
+        long[] medicao = executarPor(MEDICAO_MILLIS, validacao, token);
+        assertThat(acumulado + medicao[1]).isNotZero();
+        return medicao[0] * 1_000.0 / MEDICAO_MILLIS;
+    }
+
+    private static long[] executarPor(long millis, ToLongFunction<String> validacao, String token) {
+        long fim = System.nanoTime() + millis * 1_000_000;
+        long validados = 0;
+        long acumulado = 0;
+        while (System.nanoTime() < fim) {
+            acumulado += validacao.applyAsLong(token);
+            validados++;
+        }
+        return new long[] {validados, acumulado};
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.clinica.odonto.infrastructure.security;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.domain.entity.TipoUsuario;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TokenAutenticacaoCacheTest extends TesteIntegracao {
+
+    private static final String ROTA_AUTENTICADA = "/api/materiais/categorias";
+
+    @Autowired
+    private TokenAutenticacaoCache tokenCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    // A revogação descarta as entradas do usuário: a próxima requisição volta a verificar o token e é recusada
+    @Test
+    void tokenRevogadoDeixaDeAutenticarDepoisDaInvalidacao() throws Exception {
+        Long usuarioId = novoUsuario(TipoUsuario.RECEPCIONISTA);
+        String token = emitirToken(usuarioId);
+        acessar(token, 200);
+
+        CacheStats antes = tokenCache.estatisticas();
+        acessar(token, 200);
+        assertThat(tokenCache.estatisticas().minus(antes).hitCount()).isEqualTo(1);
+
+        usuarioService.alterarSenha(usuarioId, "outraSenha456");
+
+        antes = tokenCache.estatisticas();
+        acessar(token, 401);
+        assertThat(tokenCache.estatisticas().minus(antes).missCount()).isEqualTo(1);
+    }
+
+    // Só os tokens do usuário revogado saem do cache; os dos demais continuam sendo reaproveitados
+    @Test
+    void invalidarUsuarioDescartaSoOsTokensDele() {
+        Long revogadoId = novoUsuario(TipoUsuario.RECEPCIONISTA);
+        Long outroId = novoUsuario(TipoUsuario.DENTISTA);
+        String tokenRevogado = emitirToken(revogadoId);
+        String tokenDoOutro = emitirToken(outroId);
+        tokenCache.resolver(tokenRevogado);
+        tokenCache.resolver(tokenDoOutro);
+
+        tokenCache.invalidarUsuario(revogadoId);
+
+        CacheStats antes = tokenCache.estatisticas();
+        assertThat(tokenCache.resolver(tokenDoOutro).id()).isEqualTo(outroId);
+        assertThat(tokenCache.estatisticas().minus(antes).hitCount()).isEqualTo(1);
+
+        antes = tokenCache.estatisticas();
+        assertThat(tokenCache.resolver(tokenRevogado).id()).isEqualTo(revogadoId);
+        assertThat(tokenCache.estatisticas().minus(antes).missCount()).isEqualTo(1);
+    }
+
+    private String emitirToken(Long usuarioId) {
+        return jwtUtil.generateToken(usuarioRepository.findById(usuarioId).orElseThrow());
+    }
+
+    private void acessar(String token, int statusEsperado) throws Exception {
+        mockMvc.perform(get(ROTA_AUTENTICADA).header("Authorization", "Bearer " + token))
+                .andExpect(status().is(statusEsperado));
+    }
+}
\ No newline at end of file
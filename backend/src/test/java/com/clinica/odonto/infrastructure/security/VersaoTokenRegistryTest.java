@@ -0,0 +1,62 @@
+package com.clinica.odonto.infrastructure.security;
+
+import com.clinica.odonto.TesteIntegracao;
+import com.clinica.odonto.domain.entity.TipoUsuario;
+import com.clinica.odonto.infrastructure.cache.CanalInvalidacaoCache;
+import com.clinica.odonto.infrastructure.cache.EntidadeCacheada;
+import com.clinica.odonto.infrastructure.cache.MensagemInvalidacao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tokens já emitidos deixam de ser aceitos assim que a versao_token do usuário sobe, aqui ou em outra instância
+class VersaoTokenRegistryTest extends TesteIntegracao {
+
+    private static final String ROTA_AUTENTICADA = "/api/materiais/categorias";
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CanalInvalidacaoCache canal;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tokenRecusadoDepoisDaTrocaDeSenha() throws Exception {
+        Long usuarioId = novoUsuario(TipoUsuario.RECEPCIONISTA);
+        String token = emitirToken(usuarioId);
+        acessar(token, 200);
+
+        usuarioService.alterarSenha(usuarioId, "outraSenha456");
+
+        acessar(token, 401);
+        acessar(emitirToken(usuarioId), 200);
+    }
+
+    // Versão incrementada por outra instância: a mensagem de invalidação faz esta reler a versão do banco
+    @Test
+    void tokenRecusadoDepoisDaRevogacaoEmOutraInstancia() throws Exception {
+        Long usuarioId = novoUsuario(TipoUsuario.RECEPCIONISTA);
+        String token = emitirToken(usuarioId);
+        acessar(token, 200);
+
+        jdbcTemplate.update("UPDATE usuarios SET versao_token = versao_token + 1 WHERE id = ?", usuarioId);
+        canal.publicar("invalidacao-cache", new MensagemInvalidacao("outra-instancia", EntidadeCacheada.USUARIO, usuarioId).paraTexto());
+
+        acessar(token, 401);
+    }
+
+    private String emitirToken(Long usuarioId) {
+        return jwtUtil.generateToken(usuarioRepository.findById(usuarioId).orElseThrow());
+    }
+
+    private void acessar(String token, int statusEsperado) throws Exception {
+        mockMvc.perform(get(ROTA_AUTENTICADA).header("Authorization", "Bearer " + token))
+                .andExpect(status().is(statusEsperado));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+const http = require('http');
+
+// Carga concorrente para comparar modos de execução do backend (pool de threads padrão x perfil
+// virtual-threads, Java 17 x Java 21 com ZGC geracional). Rode o mesmo cenário contra cada backend,
+// com o mesmo volume de dados, e compare as latências p99.
+//   CLIENTES=2000 DURACAO=30 node benchmark_concorrencia.js
+//   CENARIO=consultas CLIENTES=200 DURACAO=60 node benchmark_concorrencia.js
+//   CENARIO=insercoes CLIENTES=16 DURACAO=30 node benchmark_concorrencia.js
+//
+// Cenários:
+//   leitura   - GET /api/consultas/hoje e GET /api/dashboard/metrics (padrão)
+//   consultas - agendamento (POST /api/consultas) e listagens de consultas (cursor e hoje)
+//   insercoes - lançamento em lote de 20 materiais por consulta (40 linhas por requisição) e cadastro de pacientes
+const BASE_URL = process.env.BASE_URL || 'http://localhost:8080';
+const CLIENTES = parseInt(process.env.CLIENTES || '2000', 10);
+const DURACAO_MS = parseInt(process.env.DURACAO || '30', 10) * 1000;
+const CENARIO = process.env.CENARIO || 'leitura';
+
+const agent = new http.Agent({ keepAlive: true, maxSockets: CLIENTES });
+
+function requisicao(metodo, caminho, token, corpo) {
+    return new Promise((resolve) => {
+        const inicio = process.hrtime.bigint();
+        const headers = { 'Content-Type': 'application/json' };
+        if (token) {
+            headers.Authorization = `Bearer ${token}`;
+        }
+        const req = http.request(BASE_URL + caminho, { method: metodo, headers, agent }, (res) => {
+            const partes = [];
+            res.on('data', (parte) => partes.push(parte));
+            res.on('end', () => resolve({
+                status: res.statusCode,
+                corpo: Buffer.concat(partes).toString(),
+                ms: Number(process.hrtime.bigint() - inicio) / 1e6
+            }));
+        });
+        req.on('error', () => resolve({ status: 0, ms: Number(process.hrtime.bigint() - inicio) / 1e6 }));
+        if (corpo) {
+            req.write(JSON.stringify(corpo));
+        }
+        req.end();
+    });
+}
+
+function percentil(ordenados, p) {
+    return ordenados.length ? ordenados[Math.min(ordenados.length - 1, Math.floor(ordenados.length * p))] : 0;
+}
+
+function leitura() {
+    return [
+        { nome: 'GET /api/consultas/hoje', executar: (token) => requisicao('GET', '/api/consultas/hoje', token) },
+        { nome: 'GET /api/dashboard/metrics', executar: (token) => requisicao('GET', '/api/dashboard/metrics', token) }
+    ];
+}
+
+async function consultas(token) {
+    // Dentista e paciente próprios da execução; cada agendamento ocupa a hora seguinte da agenda,
+    // então não há conflito de horário entre os clientes
+    const sufixo = Date.now();
+    const dentista = await requisicao('POST', '/api/dentistas', token, {
+        nome: 'Dentista Benchmark', email: `benchmark${sufixo}@clinica.com`, senha: 'benchmark123', cro: `BENCH-${sufixo}`
+    });
+    const paciente = await requisicao('POST', '/api/pacientes', token, {
+        nome: 'Paciente Benchmark', cpf: String(sufixo).slice(-11).padStart(11, '0'), dataNascimento: '1990-01-01', sexo: 'FEMININO'
+    });
+    const dentistaId = JSON.parse(dentista.corpo).id;
+    const pacienteId = JSON.parse(paciente.corpo).id;
+
+    const inicioAgenda = new Date();
+    inicioAgenda.setUTCDate(inicioAgenda.getUTCDate() + 1);
+    inicioAgenda.setUTCHours(0, 0, 0, 0);
+    let proximaHora = 0;
+
+    return [
+        {
+            nome: 'POST /api/consultas',
+            executar: (t) => {
+                const dataHora = new Date(inicioAgenda.getTime() + (proximaHora++) * 3600000).toISOString().slice(0, 19);
+                return requisicao('POST', '/api/consultas', t, { pacienteId, dentistaId, dataHora, valor: 150 });
+            }
+        },
+        { nome: 'GET /api/consultas/cursor', executar: (t) => requisicao('GET', '/api/consultas/cursor?tamanho=20', t) },
+        { nome: 'GET /api/consultas/hoje', executar: (t) => requisicao('GET', '/api/consultas/hoje', t) }
+    ];
+}
+
+async function insercoes(token) {
+    // Consulta e materiais próprios da execução, com estoque suficiente para toda a duração
+    const sufixo = Date.now();
+    const dentista = await requisicao('POST', '/api/dentistas', token, {
+        nome: 'Dentista Benchmark', email: `benchmark${sufixo}@clinica.com`, senha: 'benchmark123', cro: `BENCH-${sufixo}`
+    });
+    const paciente = await requisicao('POST', '/api/pacientes', token, {
+        nome: 'Paciente Benchmark', cpf: String(sufixo).slice(-11).padStart(11, '0'), dataNascimento: '1990-01-01', sexo: 'FEMININO'
+    });
+    const amanha = new Date(Date.now() + 86400000).toISOString().slice(0, 11) + '10:00:00';
+    const consulta = await requisicao('POST', '/api/consultas', token, {
+        pacienteId: JSON.parse(paciente.corpo).id, dentistaId: JSON.parse(dentista.corpo).id, dataHora: amanha, valor: 150
+    });
+    const consultaId = JSON.parse(consulta.corpo).id;
+
+    const materiais = [];
+    for (let i = 0; i < 20; i++) {
+        const material = await requisicao('POST', '/api/materiais', token, {
+            nome: `Material Benchmark ${i}`, codigo: `B${sufixo % 100000000}-${i}`, categoria: 'Benchmark', unidadeMedida: 'UN',
+            estoqueAtual: 10000000, estoqueMinimo: 1, precoUnitario: 1.5
+        });
+        materiais.push(JSON.parse(material.corpo).id);
+    }
+    const itens = materiais.map((materialId) => ({ materialId, consultaId, quantidadeUtilizada: 1 }));
+
+    let proximoCpf = (sufixo % 100000000) * 1000;
+    return [
+        { nome: 'POST /api/materiais-consulta/lote', executar: (t) => requisicao('POST', '/api/materiais-consulta/lote', t, { itens }) },
+        {
+            nome: 'POST /api/pacientes',
+            executar: (t) => requisicao('POST', '/api/pacientes', t, {
+                nome: 'Paciente Carga', cpf: String(++proximoCpf).padStart(11, '0').slice(-11), dataNascimento: '1990-01-01', sexo: 'MASCULINO'
+            })
+        }
+    ];
+}
+
+async function main() {
+    const login = await requisicao('POST', '/api/auth/login', null, { email: 'admin@clinica.com', senha: 'admin123' });
+    const token = JSON.parse(login.corpo).token;
+
+    const cenarios = { leitura, consultas, insercoes };
+    const operacoes = await cenarios[CENARIO](token);
+    const resultados = Object.fromEntries(operacoes.map((o) => [o.nome, { latencias: [], erros: 0 }]));
+    const fim = Date.now() + DURACAO_MS;
+
+    async function cliente(indice) {
+        let i = indice;
+        while (Date.now() < fim) {
+            const operacao = operacoes[i++ % operacoes.length];
+            const resposta = await operacao.executar(token);
+            if (resposta.status >= 200 && resposta.status < 300) {
+                resultados[operacao.nome].latencias.push(resposta.ms);
+            } else {
+                resultados[operacao.nome].erros++;
+            }
+        }
+    }
+
+    console.log(`=== Cenário ${CENARIO}: ${CLIENTES} clientes por ${DURACAO_MS / 1000}s em ${BASE_URL} ===`);
+    await Promise.all(Array.from({ length: CLIENTES }, (_, i) => cliente(i)));
+
+    for (const [operacao, { latencias, erros }] of Object.entries(resultados)) {
+        latencias.sort((a, b) => a - b);
+        console.log(`${operacao}: ${(latencias.length / (DURACAO_MS / 1000)).toFixed(0)} req/s, ` +
+            `p50 ${percentil(latencias, 0.5).toFixed(1)} ms, p95 ${percentil(latencias, 0.95).toFixed(1)} ms, ` +
+            `p99 ${percentil(latencias, 0.99).toFixed(1)} ms, erros ${erros}`);
+    }
+    agent.destroy();
+}
+
+main();
\ No newline at end of file